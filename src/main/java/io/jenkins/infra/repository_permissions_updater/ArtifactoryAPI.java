@@ -1,14 +1,17 @@
 package io.jenkins.infra.repository_permissions_updater;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URLEncoder;
@@ -144,6 +147,18 @@ public abstract class ArtifactoryAPI {
         return toGeneratedName(ARTIFACTORY_OBJECT_NAME_PREFIX, "cd-" + baseName);
     }
 
+    /**
+     * Determines the name for the JSON API payload file, which is also used as the group name (with prefix), of the
+     * group containing the members of a team.
+     *
+     * @param team the name of the team, as in {@code teams/<team>.yml}
+     * @return the transformed name, including the prefix, and compatible with Artifactory
+     */
+    @NonNull
+    public static String toGeneratedTeamGroupName(@NonNull String team) {
+        return toGeneratedName(ARTIFACTORY_OBJECT_NAME_PREFIX, "team-" + team);
+    }
+
     /**
      * Converts the provided base name (expected to be a GitHub repository name of the form 'org/name') to a user name
      * for a non-existing token user.
@@ -180,6 +195,40 @@ public abstract class ArtifactoryAPI {
         return name;
     }
 
+    /**
+     * Reads the names starting with {@code prefix} from a JSON array of objects with a {@code name} property, as
+     * returned by the Artifactory APIs listing permission targets and groups, without building the whole tree.
+     */
+    static List<String> readNames(Reader reader, String prefix) throws IOException {
+        List<String> names = new ArrayList<>();
+        JsonReader json = new JsonReader(reader);
+        if (json.peek() != JsonToken.BEGIN_ARRAY) {
+            throw new IOException("Expected a JSON array, but got " + json.peek());
+        }
+        json.beginArray();
+        while (json.hasNext()) {
+            if (json.peek() != JsonToken.BEGIN_OBJECT) {
+                json.skipValue();
+                continue;
+            }
+            json.beginObject();
+            while (json.hasNext()) {
+                if (json.nextName().equals("name")
+                        && (json.peek() == JsonToken.STRING || json.peek() == JsonToken.NUMBER)) {
+                    String name = json.nextString();
+                    if (name.startsWith(prefix)) {
+                        names.add(name);
+                    }
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+        }
+        json.endArray();
+        return names;
+    }
+
     /* Singleton support */
     private static ArtifactoryAPI INSTANCE = null;
 
@@ -277,23 +326,46 @@ public abstract class ArtifactoryAPI {
                     });
         }
 
+        /**
+         * Lists the names of the objects returned by {@code apiUrl} that start with {@code prefix}. The response is
+         * parsed while it is received, so only the matching names are kept in memory.
+         */
         private static List<String> list(String apiUrl, String prefix) {
-            List<String> result = new ArrayList<>();
-            withRequest("GET", apiUrl, Map.of(), BodyPublishers.noBody(), response -> {
-                JsonArray root = GSON.fromJson(response, JsonArray.class);
-                for (JsonElement element : root) {
-                    if (element.isJsonObject()) {
-                        JsonElement name = element.getAsJsonObject().get("name");
-                        if (name != null && name.isJsonPrimitive()) {
-                            String str = name.getAsString();
-                            if (str.startsWith(prefix)) {
-                                result.add(str);
-                            }
-                        }
+            if (DRY_RUN_MODE) {
+                LOGGER.log(Level.INFO, "Dry-run mode: Skipping GET call to {0}", apiUrl);
+                return new ArrayList<>();
+            }
+            LOGGER.log(Level.INFO, "Sending GET to {0}", apiUrl);
+
+            try {
+                HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(apiUrl)).GET();
+                if (BEARER_TOKEN != null) {
+                    builder.header("Authorization", BEARER_TOKEN);
+                }
+                HttpResponse<InputStream> response =
+                        HTTP_CLIENT.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+
+                int code = response.statusCode();
+                try (InputStream body = response.body()) {
+                    if (code < 200 || code > 399) {
+                        LOGGER.log(Level.INFO, "GET request to {0} returned error: HTTP {1} {2}", new Object[] {
+                            apiUrl, code, new String(body.readNBytes(8192), StandardCharsets.UTF_8)
+                        });
+                        throw new IOException("Failed to list " + apiUrl + ": HTTP " + code);
                     }
+                    List<String> names = readNames(new InputStreamReader(body, StandardCharsets.UTF_8), prefix);
+                    LOGGER.log(
+                            Level.INFO,
+                            "GET request to {0} returned: HTTP {1}, {2} names starting with {3}",
+                            new Object[] {apiUrl, code, names.size(), prefix});
+                    return names;
                 }
-            });
-            return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("HTTP call interrupted", e);
+            }
         }
 
         /**
@@ -13,12 +13,19 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -30,6 +37,7 @@ import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Handler;
@@ -37,6 +45,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.commons.io.FileUtils;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
@@ -69,17 +78,38 @@ public final class ArtifactoryPermissionsUpdater {
      */
     private static final boolean DEVELOPMENT = Boolean.getBoolean("development");
 
+    /**
+     * If enabled, definitions granting the same users and groups access to the same repositories share permission
+     * targets, see {@link #packPermissionTargets(List, int, Function)}.
+     */
+    private static final boolean PACK_PERMISSION_TARGETS = Boolean.getBoolean("packPermissionTargets");
+
+    /**
+     * The maximum number of include patterns of a shared permission target.
+     */
+    private static final int PACKED_PERMISSION_TARGET_MAX_PATTERNS =
+            Integer.getInteger("packedPermissionTargetMaxPatterns", 500);
+
+    /**
+     * If enabled, teams referenced as {@code @team} are generated as Artifactory groups that permission targets grant
+     * access to, rather than adding every team member to the users of the permission targets.
+     */
+    private static final boolean TEAM_GROUPS = Boolean.getBoolean("teamGroups");
+
     /**
      * Loads all teams from the teams/ folder.
      * Always returns non null.
      */
     private static Map<String, Set<TeamDefinition>> loadTeams() throws IOException {
+        return loadTeams(Objects.requireNonNull(new File("teams/").listFiles()));
+    }
+
+    private static Map<String, Set<TeamDefinition>> loadTeams(File[] teamFiles) throws IOException {
         Yaml yaml = new Yaml(new Constructor(TeamDefinition.class, new LoaderOptions()));
-        File teamsDir = new File("teams/");
 
         Map<String, Set<TeamDefinition>> teams = new HashMap<>();
 
-        for (File teamFile : Objects.requireNonNull(teamsDir.listFiles())) {
+        for (File teamFile : teamFiles) {
             try (InputStream is = Files.newInputStream(teamFile.toPath())) {
                 TeamDefinition newTeam = yaml.loadAs(is, TeamDefinition.class);
 
@@ -102,9 +132,12 @@ public final class ArtifactoryPermissionsUpdater {
      * Checks if any developer has its name starting with `@`.
      * In which case, for `@some-team` it will replace it with the developers
      * listed for the team whose name equals `some-team` under the teams/ directory.
+     *
+     * @return the names of the teams referenced by the definition
      */
-    private static void expandTeams(Definition definition, Map<String, Set<TeamDefinition>> teamsByName) {
+    static Set<String> expandTeams(Definition definition, Map<String, Set<TeamDefinition>> teamsByName) {
         Set<String> expandedDevelopers = new TreeSet<>();
+        Set<String> teams = new TreeSet<>();
 
         for (String developerName : definition.getDevelopers()) {
             if (developerName.startsWith("@")) {
@@ -125,11 +158,13 @@ public final class ArtifactoryPermissionsUpdater {
                             .collect(Collectors.toList())
                 });
                 teamDevs.forEach(t -> expandedDevelopers.addAll(List.of(t.getDevelopers())));
+                teams.add(teamName);
             } else {
                 expandedDevelopers.add(developerName);
             }
         }
         definition.setDevelopers(expandedDevelopers.toArray(new String[0]));
+        return teams;
     }
 
     /**
@@ -143,39 +178,86 @@ public final class ArtifactoryPermissionsUpdater {
         if (apiOutputDir.exists()) {
             throw new IOException(apiOutputDir.getPath() + " already exists");
         }
-        doGenerateApiPayloads(yamlSourceDirectory, apiOutputDir, ArtifactoryAPI.getInstance());
+        doGenerateApiPayloads(yamlSourceDirectory, apiOutputDir);
+    }
+
+    protected static void doGenerateApiPayloads(File yamlSourceDirectory, File apiOutputDir) throws IOException {
+        doGenerateApiPayloads(yamlSourceDirectory, apiOutputDir, null, Map.of(), loadTeams());
     }
 
+    /**
+     * Generates the payloads for the definitions in {@code scope}, or all definitions if {@code scope} is {@code null}.
+     * The definitions in {@code index} that are not in {@code scope} are only used to check the generated definitions
+     * against, e.g. for overlapping paths.
+     *
+     * @param scope the file names of the definitions to generate payloads for
+     * @param index definitions by file name, see {@link DefinitionIndex}
+     * @param teamsByName the teams referenced by the definitions in {@code scope}
+     */
     @SuppressFBWarnings(
             value = {"NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE", "VA_FORMAT_STRING_USES_NEWLINE"},
             justification = "TODO needs triage")
-    protected static void doGenerateApiPayloads(
-            File yamlSourceDirectory, File apiOutputDir, ArtifactoryAPI artifactoryAPI) throws IOException {
-        Yaml yaml = new Yaml(new Constructor(Definition.class, new LoaderOptions()));
-        Map<String, Set<TeamDefinition>> teamsByName = loadTeams();
+    static void doGenerateApiPayloads(
+            File yamlSourceDirectory,
+            File apiOutputDir,
+            Set<String> scope,
+            Map<String, Definition> index,
+            Map<String, Set<TeamDefinition>> teamsByName)
+            throws IOException {
 
         Map<String, Set<String>> pathsByGithub = new TreeMap<>();
         Map<String, List<Map<String, String>>> issueTrackersByPlugin = new TreeMap<>();
         Map<String, List<Definition>> cdEnabledComponentsByGitHub = new TreeMap<>();
         Map<String, List<String>> maintainersByComponent = new HashMap<>();
+        PathOwnershipTrie<Definition> pathOwners = new PathOwnershipTrie<>();
+        List<JsonObject> permissionTargets = new ArrayList<>();
+        Set<String> teamGroups = new TreeSet<>();
+        Map<String, DefinitionIndex.Entry> definitionIndex = new TreeMap<>();
 
         Gson gson = new GsonBuilder().disableHtmlEscaping().create();
 
-        for (File file : Objects.requireNonNull(yamlSourceDirectory.listFiles())) {
-            if (!file.getName().endsWith(".yml")) {
-                throw new IOException("Unexpected file: `" + file.getName() + "`. YAML files must end with `.yml`");
+        for (Map.Entry<String, Definition> indexed : index.entrySet()) {
+            Definition definition = indexed.getValue();
+            if (scope != null && scope.contains(indexed.getKey())) {
+                continue;
             }
+            for (String component : toComponents(definition)) {
+                maintainersByComponent.putIfAbsent(component, List.of(definition.getDevelopers()));
+            }
+            if (!definition.isReleaseBlocked()) {
+                for (String path : definition.getPaths()) {
+                    pathOwners.add(path, definition);
+                }
+            }
+        }
 
-            Definition definition;
-
-            try (InputStream is = Files.newInputStream(file.toPath())) {
-                definition = yaml.loadAs(is, Definition.class);
-
-                expandTeams(definition, teamsByName);
-
-            } catch (Exception e) {
-                throw new IOException("Failed to read " + file.getName(), e);
+        List<Path> files = new ArrayList<>();
+        for (File file : Objects.requireNonNull(yamlSourceDirectory.listFiles())) {
+            if (scope == null || scope.contains(file.getName())) {
+                files.add(file.toPath());
+            }
+        }
+        DefinitionRules.Result result = DefinitionRules.evaluate(files, teamsByName);
+        List<DefinitionViolation> violations = new ArrayList<>(result.violations());
+        for (DefinitionFile file : result.definitions()) {
+            if (!file.definition().isReleaseBlocked()) {
+                checkOverlappingPaths(pathOwners, file, violations::add);
+            }
+        }
+        if (!violations.isEmpty()) {
+            violations.sort(DefinitionViolation.ORDER);
+            for (DefinitionViolation violation : violations) {
+                LOGGER.log(Level.SEVERE, violation + "\n" + violation.details().strip());
             }
+            DefinitionRules.report(yamlSourceDirectory.getName(), violations);
+            throw new IllegalStateException(violations.size() + " problems found in permission definitions:\n"
+                    + violations.stream().map(DefinitionViolation::toString).collect(Collectors.joining("\n")));
+        }
+
+        for (DefinitionFile file : result.definitions()) {
+            Definition definition = file.definition();
+            Set<String> directDevelopers = file.directDevelopers();
+            Set<String> teams = file.teams();
 
             if (definition.getGithub() != null) {
                 if (!definition.isReleaseBlocked()) {
@@ -184,10 +266,6 @@ public final class ArtifactoryPermissionsUpdater {
                     paths.addAll(List.of(definition.getPaths()));
                 }
                 if (definition.getCd() != null && definition.getCd().enabled) {
-                    if (!definition.getGithub().matches("(jenkinsci|jenkins-infra)/.+")) {
-                        throw new IllegalArgumentException(
-                                "CD is only supported when the GitHub repository is in @jenkinsci");
-                    }
                     if (definition.getDevelopers().length > 0) {
                         List<Definition> definitions = cdEnabledComponentsByGitHub.get(definition.getGithub());
                         if (definitions == null || definitions.isEmpty()) {
@@ -206,12 +284,6 @@ public final class ArtifactoryPermissionsUpdater {
                                         + definition.getGithub() + "' as it is unmaintained");
                     }
                 }
-            } else {
-                if (definition.getCd() != null && definition.getCd().enabled) {
-                    throw new IllegalArgumentException(
-                            "Cannot have CD ('cd') enabled without specifying GitHub repository ('github'), for component: "
-                                    + definition.getName());
-                }
             }
 
             if (definition.getIssues() != null && definition.getIssues().length > 0) {
@@ -237,9 +309,6 @@ public final class ArtifactoryPermissionsUpdater {
                                 .collect(Collectors.toList());
                         issueTrackersByPlugin.put(name, trackers);
                     }
-                } else {
-                    throw new IllegalArgumentException(
-                            "Issue trackers ('issues') support requires GitHub repository ('github')");
                 }
             }
 
@@ -250,20 +319,14 @@ public final class ArtifactoryPermissionsUpdater {
                     // We could throw an exception here, but we actively abuse this for unusually structured components
                     LOGGER.log(Level.WARNING, "Unexpected path: " + path + " for artifact ID: " + artifactId);
                 }
-
-                String groupId = path.substring(0, path.lastIndexOf("/")).replace("/", ".");
-                if (lastPathElement.contains("*")) {
-                    for (String name : definition.getExtraNames()) {
-                        addMaintainers(maintainersByComponent, groupId + ":" + name, definition);
-                    }
-
-                } else {
-                    addMaintainers(maintainersByComponent, groupId + ":" + artifactId, definition);
-                }
             }
+            for (String component : toComponents(definition)) {
+                addMaintainers(maintainersByComponent, component, definition);
+            }
+            definitionIndex.put(file.name(), DefinitionIndex.Entry.of(definition));
 
-            String jsonName = artifactoryAPI.toGeneratedPermissionTargetName(
-                    file.getName().replaceAll("\\.ya?ml$", ""));
+            String jsonName = ArtifactoryAPI.toGeneratedPermissionTargetName(
+                    file.name().replaceAll("\\.ya?ml$", ""));
 
             JsonObject perm = new JsonObject();
             perm.addProperty("name", jsonName);
@@ -272,15 +335,9 @@ public final class ArtifactoryPermissionsUpdater {
             if (definition.isReleaseBlocked()) {
                 perm.addProperty("includesPattern", "blocked");
             } else {
-                List<String> patterns = new ArrayList<>();
-                for (String path : definition.getPaths()) {
-                    patterns.add(path + "/*/" + definition.getName() + "-*");
-                    patterns.add(path + "/*/maven-metadata.xml");
-                    patterns.add(path + "/*/maven-metadata.xml.*");
-                    patterns.add(path + "/maven-metadata.xml");
-                    patterns.add(path + "/maven-metadata.xml.*");
-                }
-                perm.addProperty("includesPattern", String.join(",", patterns));
+                perm.addProperty(
+                        "includesPattern",
+                        String.join(",", IncludesPatterns.compile(definition.getPaths(), definition.getName())));
             }
             perm.addProperty("excludesPattern", "");
 
@@ -304,65 +361,21 @@ public final class ArtifactoryPermissionsUpdater {
             } else {
                 if (definition.getCd() == null || !definition.getCd().exclusive) {
                     for (String dev : definition.getDevelopers()) {
-                        boolean inArtifactory = KnownUsers.existsInArtifactory(dev);
-                        boolean inJira = KnownUsers.existsInJira(dev);
-
-                        if (!inArtifactory && !inJira) {
-                            reportChecksApiDetails(dev + " needs to log in to Artifactory and Jira", """
-                                    %s needs to log in to [Artifactory](https://repo.jenkins-ci.org/) and [Jira](https://issues.jenkins.io/).
-
-                                    We resync our Artifactory and Jira user list every 2 hours, so you will need to wait some time before rebuilding your pull request.
-                                    The easiest way to trigger a rebuild is to close your pull request, wait a few seconds and then reopen it.
-
-                                    Alternatively the hosting team can re-trigger it if you post a comment saying you have now logged in.
-                                    """.formatted(dev)
-                                    .stripIndent());
-                            throw new IllegalStateException("User name not known to Artifactory and Jira: " + dev);
-                        }
-                        if (!inArtifactory) {
-                            reportChecksApiDetails(dev + " needs to log in to Artifactory", """
-                                    %s needs to log in to [Artifactory](https://repo.jenkins-ci.org/).
-
-                                    We resync our Artifactory user list every 2 hours, so you will need to wait some time before rebuilding your pull request.
-                                    The easiest way to trigger a rebuild is to close your pull request, wait a few seconds and then reopen it.
-
-                                    Alternatively the hosting team can re-trigger it if you post a comment saying you have now logged in.
-                                    """.formatted(dev)
-                                    .stripIndent());
-                            throw new IllegalStateException("User name not known to Artifactory: " + dev);
-                        }
-                        if (!inJira) {
-                            reportChecksApiDetails(dev + " needs to log in to Jira", """
-                                    %s needs to log in to [Jira](https://issues.jenkins.io/)
-
-                                    We resync our Jira user list every 2 hours, so you will need to wait some time before rebuilding your pull request.
-                                    The easiest way to trigger a rebuild is to close your pull request, wait a few seconds and then reopen it.
-
-                                    Alternatively the hosting team can re-trigger it if you post a comment saying you have now logged in.
-                                    """.formatted(dev)
-                                    .stripIndent());
-                            throw new IllegalStateException("User name not known to Jira: " + dev);
+                        if (!TEAM_GROUPS || directDevelopers.contains(dev)) {
+                            JsonArray rights = new JsonArray();
+                            rights.add("w");
+                            rights.add("n");
+                            usersJson.add(dev.toLowerCase(Locale.US), rights);
                         }
-
-                        JsonArray rights = new JsonArray();
-                        rights.add("w");
-                        rights.add("n");
-                        usersJson.add(dev.toLowerCase(Locale.US), rights);
                     }
-                } else {
-                    for (String dev : definition.getDevelopers()) {
-                        if (!KnownUsers.existsInJira(dev)) {
-                            reportChecksApiDetails(dev + " needs to log in to Jira", """
-                                    %s needs to log in to [Jira](https://issues.jenkins.io/)
-
-                                    We resync our Jira user list every 2 hours, so you will need to wait some time before rebuilding your pull request.
-                                    The easiest way to trigger a rebuild is to close your pull request, wait a few seconds and then reopen it.
-
-                                    Alternatively the hosting team can re-trigger it if you post a comment saying you have now logged in.
-                                    """.formatted(dev)
-                                    .stripIndent());
-                            throw new IllegalStateException("User name not known to Jira: " + dev);
+                    if (TEAM_GROUPS) {
+                        for (String team : teams) {
+                            JsonArray rights = new JsonArray();
+                            rights.add("w");
+                            rights.add("n");
+                            groupsJson.add(ArtifactoryAPI.toGeneratedTeamGroupName(team), rights);
                         }
+                        teamGroups.addAll(teams);
                     }
                 }
             }
@@ -371,15 +384,31 @@ public final class ArtifactoryPermissionsUpdater {
                 JsonArray rights = new JsonArray();
                 rights.add("w");
                 rights.add("n");
-                groupsJson.add(artifactoryAPI.toGeneratedGroupName(definition.getGithub()), rights);
+                groupsJson.add(ArtifactoryAPI.toGeneratedGroupName(definition.getGithub()), rights);
             }
 
             JsonObject principals = new JsonObject();
             principals.add("users", usersJson);
             principals.add("groups", groupsJson);
             perm.add("principals", principals);
+            permissionTargets.add(perm);
+        }
 
-            Path permFile = apiOutputDir.toPath().resolve("permissions").resolve(jsonName + ".json");
+        if (PACK_PERMISSION_TARGETS) {
+            int definitions = permissionTargets.size();
+            permissionTargets = packPermissionTargets(
+                    permissionTargets,
+                    PACKED_PERMISSION_TARGET_MAX_PATTERNS,
+                    ArtifactoryAPI::toGeneratedPermissionTargetName);
+            LOGGER.log(Level.INFO, "Packed {0} definitions into {1} permission targets", new Object[] {
+                definitions, permissionTargets.size()
+            });
+        }
+        for (JsonObject perm : permissionTargets) {
+            Path permFile = apiOutputDir
+                    .toPath()
+                    .resolve("permissions")
+                    .resolve(perm.get("name").getAsString() + ".json");
             Files.createDirectories(permFile.getParent());
             try (BufferedWriter bw = Files.newBufferedWriter(permFile);
                     JsonWriter jw = gson.newJsonWriter(bw)) {
@@ -389,7 +418,7 @@ public final class ArtifactoryPermissionsUpdater {
         }
 
         for (String githubRepo : cdEnabledComponentsByGitHub.keySet()) {
-            String groupName = artifactoryAPI.toGeneratedGroupName(githubRepo);
+            String groupName = ArtifactoryAPI.toGeneratedGroupName(githubRepo);
             JsonObject group = new JsonObject();
             group.addProperty("name", groupName);
             group.addProperty("description", "CD group with permissions to deploy from " + githubRepo);
@@ -403,6 +432,20 @@ public final class ArtifactoryPermissionsUpdater {
             }
         }
 
+        for (String team : teamGroups) {
+            JsonObject group = toTeamGroup(team, teamsByName.get(team));
+            Path groupFile = apiOutputDir
+                    .toPath()
+                    .resolve("groups")
+                    .resolve(group.get("name").getAsString() + ".json");
+            Files.createDirectories(groupFile.getParent());
+            try (BufferedWriter bw = Files.newBufferedWriter(groupFile);
+                    JsonWriter jw = gson.newJsonWriter(bw)) {
+                jw.setIndent("    ");
+                gson.toJson(group, group.getClass(), jw);
+            }
+        }
+
         writePrettyJson(apiOutputDir.toPath().resolve("github.index.json"), pathsByGithub, gson);
         writePrettyJson(apiOutputDir.toPath().resolve("issues.index.json"), issueTrackersByPlugin, gson);
         writePrettyJson(
@@ -410,6 +453,135 @@ public final class ArtifactoryPermissionsUpdater {
                 new ArrayList<>(cdEnabledComponentsByGitHub.keySet()),
                 gson);
         writePrettyJson(apiOutputDir.toPath().resolve("maintainers.index.json"), maintainersByComponent, gson);
+        if (scope == null) {
+            writePrettyJson(apiOutputDir.toPath().resolve(DefinitionIndex.FILE_NAME), definitionIndex, gson);
+        }
+    }
+
+    /**
+     * Creates the payload of the Artifactory group for a team, with the team members as the users of the group.
+     * Submitting it replaces the members of an existing group, so a change to a team file updates this group only,
+     * rather than every permission target that references the team.
+     */
+    static JsonObject toTeamGroup(String team, Set<TeamDefinition> definitions) {
+        Set<String> members = new TreeSet<>();
+        definitions.forEach(definition -> {
+            for (String developer : definition.getDevelopers()) {
+                members.add(developer.toLowerCase(Locale.US));
+            }
+        });
+        JsonArray userNames = new JsonArray();
+        members.forEach(userNames::add);
+
+        JsonObject group = new JsonObject();
+        group.addProperty("name", ArtifactoryAPI.toGeneratedTeamGroupName(team));
+        group.addProperty("description", "Members of the @" + team + " team, see teams/" + team + ".yml");
+        group.add("userNames", userNames);
+        return group;
+    }
+
+    /**
+     * Merges permission targets that grant the same principals access to the same repositories, so that Artifactory
+     * has fewer permission targets to store, evaluate and update.
+     *
+     * <p>Targets of release blocked definitions are kept as they are. The others are grouped by repositories and
+     * principals, and merged into shared targets of at most {@code maxPatterns} include patterns, without patterns
+     * matched by another one. A group that has too many patterns is split in two by a bit of the hash of each target
+     * name, and each half again until it is small enough, so that adding or removing a definition only changes the
+     * shared target it is hashed into, rather than every target after it in name order. Shared targets are named after
+     * a hash of their principals and repositories and the hash bits of their members, so the names do not change
+     * between runs unless the group changes. Groups of a single target keep its name.
+     *
+     * @param namer creates the name of a generated permission target from a base name
+     */
+    static List<JsonObject> packPermissionTargets(
+            List<JsonObject> targets, int maxPatterns, Function<String, String> namer) {
+        Map<String, List<JsonObject>> groups = new TreeMap<>();
+        List<JsonObject> packed = new ArrayList<>();
+        for (JsonObject target : targets) {
+            if (target.get("includesPattern").getAsString().equals("blocked")) {
+                packed.add(target);
+            } else {
+                groups.computeIfAbsent(packingKey(target), unused -> new ArrayList<>()).add(target);
+            }
+        }
+
+        for (Map.Entry<String, List<JsonObject>> group : groups.entrySet()) {
+            List<JsonObject> members = group.getValue();
+            if (members.size() == 1) {
+                packed.addAll(members);
+                continue;
+            }
+            List<PackedMember> packedMembers = new ArrayList<>();
+            for (JsonObject member : members) {
+                String name = member.get("name").getAsString();
+                packedMembers.add(new PackedMember(
+                        name,
+                        List.of(member.get("includesPattern").getAsString().split(",")),
+                        new BigInteger(sha256(name), 16)));
+            }
+            Map<Long, List<PackedMember>> chunks = new TreeMap<>();
+            splitIntoChunks(packedMembers, 0, 1, maxPatterns, chunks);
+
+            String baseName = "packed-" + sha256(group.getKey()).substring(0, 12);
+            for (Map.Entry<Long, List<PackedMember>> chunk : chunks.entrySet()) {
+                List<String> patterns = chunk.getValue().stream()
+                        .sorted(Comparator.comparing(PackedMember::name))
+                        .flatMap(member -> member.patterns().stream())
+                        .toList();
+                JsonObject target = members.getFirst().deepCopy();
+                target.addProperty("name", namer.apply(baseName + "-" + chunk.getKey()));
+                target.addProperty("includesPattern", String.join(",", IncludesPatterns.minimize(patterns)));
+                packed.add(target);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * A permission target merged into a shared one, with the hash of its name deciding which one.
+     */
+    private record PackedMember(String name, List<String> patterns, BigInteger hash) {}
+
+    /**
+     * Splits members into chunks of at most {@code maxPatterns} include patterns by the bits of their hashes, starting
+     * at bit {@code depth}. Chunks are numbered like nodes of a binary heap: the chunk {@code index} is split into
+     * {@code 2 * index} and {@code 2 * index + 1}.
+     */
+    private static void splitIntoChunks(
+            List<PackedMember> members, int depth, long index, int maxPatterns, Map<Long, List<PackedMember>> chunks) {
+        if (members.isEmpty()) {
+            return;
+        }
+        int patterns = members.stream().mapToInt(member -> member.patterns().size()).sum();
+        // the depth limit keeps chunk numbers within a long, hash collisions that deep are not expected
+        if (patterns <= maxPatterns || members.size() == 1 || depth == Long.SIZE - 2) {
+            chunks.put(index, members);
+            return;
+        }
+        Map<Boolean, List<PackedMember>> halves =
+                members.stream().collect(Collectors.partitioningBy(member -> member.hash().testBit(depth)));
+        splitIntoChunks(halves.get(false), depth + 1, 2 * index, maxPatterns, chunks);
+        splitIntoChunks(halves.get(true), depth + 1, 2 * index + 1, maxPatterns, chunks);
+    }
+
+    /**
+     * Identifies the repositories and principals of a permission target, independently of the order of principals.
+     */
+    private static String packingKey(JsonObject target) {
+        JsonObject principals = target.getAsJsonObject("principals");
+        return target.get("repositories") + "|"
+                + new TreeMap<>(principals.getAsJsonObject("users").asMap()) + "|"
+                + new TreeMap<>(principals.getAsJsonObject("groups").asMap());
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private static void writePrettyJson(Path target, Object content, Gson gson) throws IOException {
@@ -422,7 +594,7 @@ public final class ArtifactoryPermissionsUpdater {
     }
 
     // TODO It's a really weird decision to have this in the otherwise invocation agnostic standalone tool
-    private static void reportChecksApiDetails(String errorMessage, String details) throws IOException {
+    static void reportChecksApiDetails(String errorMessage, String details) throws IOException {
         Files.writeString(
                 Path.of("checks-title.txt"),
                 errorMessage,
@@ -435,6 +607,62 @@ public final class ArtifactoryPermissionsUpdater {
                 StandardOpenOption.TRUNCATE_EXISTING);
     }
 
+    /**
+     * Reports a violation if a path of this definition grants upload permissions for the same artifacts as a
+     * definition for a different GitHub repository. Definitions that only share a directory, and therefore its
+     * {@code maven-metadata.xml}, are logged.
+     */
+    private static void checkOverlappingPaths(
+            PathOwnershipTrie<Definition> pathOwners, DefinitionFile file, Consumer<DefinitionViolation> violations) {
+        Definition definition = file.definition();
+        for (String path : definition.getPaths()) {
+            for (Definition other : pathOwners.add(path, definition)) {
+                if (other == definition) {
+                    continue;
+                }
+                boolean sameArtifacts =
+                        PathOwnershipTrie.globsIntersect(definition.getName() + "-*", other.getName() + "-*");
+                boolean sameRepository =
+                        definition.getGithub() != null && definition.getGithub().equals(other.getGithub());
+                if (sameArtifacts && !sameRepository) {
+                    violations.accept(new DefinitionViolation(
+                            file.name(),
+                            file.lineOf("paths", path),
+                            "Path " + path + " of " + definition.getName() + " overlaps with " + other.getName(),
+                            """
+                                    The path `%s` of `%s` grants permission to upload artifacts that `%s` can already upload.
+
+                                    Each artifact may only be uploaded by the maintainers of one component.
+                                    """.formatted(path, definition.getName(), other.getName())
+                                    .stripIndent()));
+                    continue;
+                }
+                LOGGER.log(Level.WARNING, "Path {0} of {1} overlaps with the paths of {2}", new Object[] {
+                    path, definition.getName(), other.getName()
+                });
+            }
+        }
+    }
+
+    /**
+     * Returns the {@code groupId:artifactId} keys of the components of a definition.
+     */
+    private static List<String> toComponents(Definition definition) {
+        List<String> components = new ArrayList<>();
+        for (String path : definition.getPaths()) {
+            String lastPathElement = path.substring(path.lastIndexOf("/") + 1);
+            String groupId = path.substring(0, path.lastIndexOf("/")).replace("/", ".");
+            if (lastPathElement.contains("*")) {
+                for (String name : definition.getExtraNames()) {
+                    components.add(groupId + ":" + name);
+                }
+            } else {
+                components.add(groupId + ":" + definition.getName());
+            }
+        }
+        return components;
+    }
+
     private static void addMaintainers(
             Map<String, List<String>> maintainersByComponent, String key, Definition definition) {
         if (maintainersByComponent.containsKey(key)) {
@@ -588,12 +816,124 @@ public final class ArtifactoryPermissionsUpdater {
         }
     }
 
-    public static void syncPermissions() throws IOException {
+    /**
+     * Validates only the permission definitions affected by the changes since {@code baseRef}: changed definitions,
+     * and definitions referencing changed teams. They are checked against the other definitions in the index at
+     * {@code indexLocation}, so the other definitions do not need to be read. If the index cannot be loaded, all
+     * definitions are validated.
+     *
+     * @param baseRef the Git ref changes are compared to, like {@code origin/master}
+     * @param indexLocation the path or URL of a {@code definitions.index.json} generated by {@link #syncPermissions()}
+     */
+    public static void validateChanges(String baseRef, String indexLocation) throws IOException, InterruptedException {
+        configureLogging();
+
+        Set<String> scope = ChangedDefinitions.affectedDefinitions(
+                ChangedDefinitions.changedFiles(baseRef), DEFINITIONS_DIR.toPath(), Path.of("teams"));
+        Map<String, Definition> index = Map.of();
+        if (scope.isEmpty()) {
+            // still generate the (empty) index files, so that builds find the expected files
+            LOGGER.log(Level.INFO, "No permission definitions or teams changed since {0}", baseRef);
+        } else {
+            try {
+                index = DefinitionIndex.load(indexLocation);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to load " + indexLocation + ", validating all definitions", e);
+                scope = null;
+            }
+        }
+
+        if (!DEFINITIONS_DIR.exists()) {
+            throw new IOException("Directory " + DEFINITIONS_DIR + " does not exist");
+        }
+        if (ARTIFACTORY_API_DIR.exists()) {
+            throw new IOException(ARTIFACTORY_API_DIR.getPath() + " already exists");
+        }
+        doGenerateApiPayloads(DEFINITIONS_DIR, ARTIFACTORY_API_DIR, scope, index, loadTeams());
+    }
+
+    /**
+     * Validates a single permission definition and prints the payloads and index entries generated from it. Only the
+     * teams it references are read, and no other definitions, so this is fast enough for a pre-commit hook.
+     *
+     * @param indexLocation the path or URL of a {@code definitions.index.json} to check for overlapping paths with the
+     *     other definitions, or {@code null} to skip that check
+     */
+    public static void explainDefinition(File file, String indexLocation, PrintStream out) throws IOException {
+        configureLogging();
+        explainDefinition(file, indexLocation, new File("teams"), out);
+    }
+
+    /**
+     * @param teamsDirectory the directory to read the teams referenced as {@code @team} from
+     */
+    static void explainDefinition(File file, String indexLocation, File teamsDirectory, PrintStream out)
+            throws IOException {
+        if (!file.isFile()) {
+            throw new IOException("File " + file + " does not exist");
+        }
+        Map<String, Definition> index = indexLocation == null ? Map.of() : DefinitionIndex.load(indexLocation);
+        File[] teamFiles = referencedTeams(file).stream()
+                .map(team -> new File(teamsDirectory, team + ".yml"))
+                .filter(File::isFile)
+                .toArray(File[]::new);
+
+        Path output = Files.createTempDirectory("rpu-explain");
+        try {
+            doGenerateApiPayloads(
+                    file.getAbsoluteFile().getParentFile(),
+                    output.toFile(),
+                    Set.of(file.getName()),
+                    index,
+                    loadTeams(teamFiles));
+            List<Path> generated;
+            try (Stream<Path> files = Files.walk(output)) {
+                generated = files.filter(Files::isRegularFile).sorted().toList();
+            }
+            for (Path path : generated) {
+                String content = Files.readString(path);
+                // the index files are written even if the definition adds nothing to them
+                if (!content.equals("{}") && !content.equals("[]")) {
+                    out.println("# " + output.relativize(path).toString().replace(File.separatorChar, '/'));
+                    out.println(content);
+                }
+            }
+        } finally {
+            FileUtils.deleteQuietly(output.toFile());
+        }
+    }
+
+    /**
+     * Returns the names of the teams a definition lists as {@code @team}, or none if it cannot be read. Problems with
+     * the file are reported when it is validated.
+     */
+    private static Set<String> referencedTeams(File file) throws IOException {
+        Set<String> teams = new TreeSet<>();
+        try {
+            if (new Yaml().load(Files.readString(file.toPath())) instanceof Map<?, ?> definition
+                    && definition.get("developers") instanceof List<?> developers) {
+                for (Object developer : developers) {
+                    if (developer instanceof String name && name.startsWith("@")) {
+                        teams.add(name.substring(1));
+                    }
+                }
+            }
+        } catch (YAMLException e) {
+            LOGGER.log(Level.FINE, "Failed to read teams of " + file, e);
+        }
+        return teams;
+    }
+
+    private static void configureLogging() {
         for (Handler h : Logger.getLogger("").getHandlers()) {
             if (h instanceof ConsoleHandler) {
                 ((ConsoleHandler) h).setFormatter(new SupportLogFormatter());
             }
         }
+    }
+
+    public static void syncPermissions() throws IOException {
+        configureLogging();
 
         if (DRY_RUN_MODE) {
             LOGGER.log(Level.INFO, "Running in dry run mode");
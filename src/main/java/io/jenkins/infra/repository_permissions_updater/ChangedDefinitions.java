@@ -0,0 +1,112 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Determines which permission definitions a change needs to validate: the changed definition files, and the
+ * definitions referencing a changed team as {@code @team}.
+ */
+final class ChangedDefinitions {
+
+    private static final Logger LOGGER = Logger.getLogger(ChangedDefinitions.class.getName());
+
+    private static final long GIT_TIMEOUT_SECONDS = 60;
+
+    private ChangedDefinitions() {}
+
+    /**
+     * Lists the files changed in the working tree, including uncommitted and untracked files, compared to the merge
+     * base of {@code baseRef} and {@code HEAD}.
+     *
+     * @return the changed paths, relative to the current directory
+     */
+    static List<String> changedFiles(String baseRef) throws IOException, InterruptedException {
+        String mergeBase = git("merge-base", baseRef, "HEAD").getFirst();
+        List<String> changed = new ArrayList<>(git("diff", "--name-only", "--no-renames", "--relative", mergeBase));
+        changed.addAll(git("ls-files", "--others", "--exclude-standard"));
+        return changed;
+    }
+
+    /**
+     * Returns the names of the definition files in {@code definitionsDir} to validate for the given changed paths.
+     * Deleted definition files are included, so that their previous state can be ignored.
+     *
+     * @param changedPaths paths relative to the current directory
+     */
+    static Set<String> affectedDefinitions(List<String> changedPaths, Path definitionsDir, Path teamsDir)
+            throws IOException {
+        Path definitions = definitionsDir.toAbsolutePath().normalize();
+        Path teams = teamsDir.toAbsolutePath().normalize();
+        Set<String> affected = new TreeSet<>();
+        Set<String> changedTeams = new TreeSet<>();
+        for (String changedPath : changedPaths) {
+            Path path = Path.of(changedPath).toAbsolutePath().normalize();
+            String fileName = path.getFileName().toString();
+            if (definitions.equals(path.getParent())) {
+                affected.add(fileName);
+            } else if (teams.equals(path.getParent()) && fileName.endsWith(".yml")) {
+                changedTeams.add(fileName.substring(0, fileName.length() - ".yml".length()));
+            }
+        }
+
+        if (!changedTeams.isEmpty()) {
+            // a cheap textual search, as parsing all definitions would take longer than validating most changes
+            List<Pattern> references = changedTeams.stream()
+                    .map(team -> Pattern.compile(
+                            "^\\s*-\\s*[\"']?@" + Pattern.quote(team) + "[\"']?\\s*(#.*)?$", Pattern.MULTILINE))
+                    .toList();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(definitions, "*.yml")) {
+                for (Path file : files) {
+                    String content = Files.readString(file);
+                    if (references.stream().anyMatch(reference -> reference.matcher(content).find())) {
+                        affected.add(file.getFileName().toString());
+                    }
+                }
+            }
+        }
+        LOGGER.log(Level.INFO, "Changed teams: {0}, definitions to validate: {1}", new Object[] {
+            changedTeams, affected
+        });
+        return affected;
+    }
+
+    private static List<String> git(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        ProcessBuilder builder = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT);
+        builder.environment().put("GIT_TERMINAL_PROMPT", "0");
+        Process process = builder.start();
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+            }
+            if (!process.waitFor(GIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IOException("Timed out running " + String.join(" ", command));
+            }
+        } finally {
+            process.destroyForcibly();
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("Failed to run " + String.join(" ", command) + ": exit code " + process.exitValue());
+        }
+        return output;
+    }
+}
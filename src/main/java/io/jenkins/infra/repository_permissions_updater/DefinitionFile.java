@@ -0,0 +1,133 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+
+/**
+ * A permission definition read from a file, with its teams expanded, and the lines of its entries for reporting
+ * problems.
+ *
+ * @param name the file name
+ * @param definition the definition, with the members of teams as developers
+ * @param directDevelopers the developers listed in the file, rather than through teams
+ * @param teams the names of the teams referenced as {@code @team}
+ * @param developerSources for each developer, the entry of {@code developers} it was listed as, like {@code @team}
+ * @param lines the lines of top-level keys, and of the entries of top-level lists
+ */
+record DefinitionFile(
+        String name,
+        Definition definition,
+        Set<String> directDevelopers,
+        Set<String> teams,
+        Map<String, String> developerSources,
+        Map<String, Integer> lines) {
+
+    private static final ThreadLocal<DefinitionConstructor> CONSTRUCTOR =
+            ThreadLocal.withInitial(DefinitionConstructor::new);
+
+    private static final ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(() -> new Yaml(CONSTRUCTOR.get()));
+
+    /**
+     * Parses a definition.
+     *
+     * @throws RuntimeException if the file is not a valid definition, or references unknown teams
+     */
+    static DefinitionFile parse(String name, String content, Map<String, Set<TeamDefinition>> teamsByName) {
+        // parsed once, for both the definition and the lines of its entries
+        Node root = YAML.get().compose(new StringReader(content));
+        if (root == null || root.getTag().equals(Tag.NULL)) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        Map<String, Integer> lines = lines(root);
+        Definition definition = CONSTRUCTOR.get().construct(root);
+        List<String> listed = List.of(definition.getDevelopers());
+        Set<String> teams = ArtifactoryPermissionsUpdater.expandTeams(definition, teamsByName);
+
+        Map<String, String> developerSources = new HashMap<>();
+        for (String entry : listed) {
+            if (entry.startsWith("@")) {
+                teamsByName.get(entry.substring(1)).forEach(team -> {
+                    for (String member : team.getDevelopers()) {
+                        developerSources.putIfAbsent(member, entry);
+                    }
+                });
+            }
+        }
+        for (String entry : listed) {
+            if (!entry.startsWith("@")) {
+                developerSources.put(entry, entry);
+            }
+        }
+        return new DefinitionFile(name, definition, Set.copyOf(listed), teams, developerSources, lines);
+    }
+
+    /**
+     * Returns the line of a top-level key, or 0 if it is not in the file.
+     */
+    int lineOf(String key) {
+        return lines.getOrDefault(key, 0);
+    }
+
+    /**
+     * Returns the line of an entry of the list at a top-level key, or of the key if the entry is not in the file.
+     */
+    int lineOf(String key, String entry) {
+        return lines.getOrDefault(key + '\0' + entry, lineOf(key));
+    }
+
+    /**
+     * Returns the line of the {@code developers} entry a developer was listed as.
+     */
+    int lineOfDeveloper(String developer) {
+        return lineOf("developers", developerSources.getOrDefault(developer, developer));
+    }
+
+    private static Map<String, Integer> lines(Node root) {
+        Map<String, Integer> lines = new LinkedHashMap<>();
+        if (root instanceof MappingNode mapping) {
+            for (NodeTuple tuple : mapping.getValue()) {
+                if (tuple.getKeyNode() instanceof ScalarNode key) {
+                    lines.putIfAbsent(key.getValue(), key.getStartMark().getLine() + 1);
+                    if (tuple.getValueNode() instanceof SequenceNode sequence) {
+                        for (Node item : sequence.getValue()) {
+                            if (item instanceof ScalarNode scalar) {
+                                lines.putIfAbsent(
+                                        key.getValue() + '\0' + scalar.getValue(),
+                                        scalar.getStartMark().getLine() + 1);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Constructs definitions from composed nodes, like {@link Yaml#loadAs(String, Class)} does from text.
+     */
+    private static final class DefinitionConstructor extends Constructor {
+
+        DefinitionConstructor() {
+            super(Definition.class, new LoaderOptions());
+        }
+
+        Definition construct(Node root) {
+            root.setTag(new Tag(Definition.class));
+            return (Definition) constructDocument(root);
+        }
+    }
+}
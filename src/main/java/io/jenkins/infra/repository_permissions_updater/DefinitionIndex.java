@@ -0,0 +1,77 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The paths of all permission definitions, written as {@code definitions.index.json} whenever payloads are generated
+ * for all definitions. Validating a change to some definitions checks them against the index of the others, such as
+ * for overlapping paths, instead of reading every definition.
+ */
+final class DefinitionIndex {
+
+    static final String FILE_NAME = "definitions.index.json";
+
+    private DefinitionIndex() {}
+
+    /**
+     * The part of a definition needed to check other definitions against it.
+     */
+    record Entry(String name, String github, List<String> paths, List<String> extraNames, boolean releaseBlocked) {
+
+        static Entry of(Definition definition) {
+            return new Entry(
+                    definition.getName(),
+                    definition.getGithub(),
+                    List.of(definition.getPaths()),
+                    List.of(definition.getExtraNames()),
+                    definition.isReleaseBlocked());
+        }
+
+        Definition toDefinition() {
+            Definition definition = new Definition();
+            definition.setName(name);
+            definition.setGithub(github);
+            definition.setPaths(paths == null ? new String[0] : paths.toArray(new String[0]));
+            definition.setExtraNames(extraNames == null ? new String[0] : extraNames.toArray(new String[0]));
+            definition.setReleaseBlocked(releaseBlocked);
+            return definition;
+        }
+    }
+
+    /**
+     * Loads the index from a file, or from an {@code http} or {@code https} URL.
+     *
+     * @return the definitions by file name
+     */
+    @SuppressFBWarnings(value = "URLCONNECTION_SSRF_FD", justification = "The location is provided by the user.")
+    static Map<String, Definition> load(String location) throws IOException {
+        try (InputStream stream = location.matches("https?://.*")
+                        ? URI.create(location).toURL().openStream()
+                        : Files.newInputStream(Path.of(location));
+                Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            Map<String, Entry> entries = new Gson().fromJson(reader, new TypeToken<Map<String, Entry>>() {}.getType());
+            if (entries == null) {
+                throw new IOException(location + " is empty");
+            }
+            Map<String, Definition> definitions = new LinkedHashMap<>();
+            entries.forEach((file, entry) -> definitions.put(file, entry.toDefinition()));
+            return definitions;
+        } catch (JsonParseException e) {
+            throw new IOException("Failed to read " + location, e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.yaml.snakeyaml.error.MarkedYAMLException;
+
+/**
+ * The rules each permission definition needs to follow.
+ *
+ * <p>All files are read and all rules are evaluated, in parallel, before any payload is generated, so that every
+ * problem is reported at once instead of one per build. Rules involving several definitions, like overlapping paths,
+ * are evaluated by {@link ArtifactoryPermissionsUpdater} once all definitions were read.
+ */
+final class DefinitionRules {
+
+    /**
+     * A rule that checks a single definition.
+     */
+    @FunctionalInterface
+    interface Rule {
+        void check(DefinitionFile file, Consumer<DefinitionViolation> violations);
+    }
+
+    static final List<Rule> RULES = List.of(
+            DefinitionRules::checkContinuousDelivery, DefinitionRules::checkIssues, DefinitionRules::checkUsers);
+
+    /**
+     * The definitions that could be read, sorted by file name, and the violations found in all files.
+     */
+    record Result(List<DefinitionFile> definitions, List<DefinitionViolation> violations) {}
+
+    private DefinitionRules() {}
+
+    /**
+     * Reads the given definition files and checks them against {@link #RULES}.
+     */
+    static Result evaluate(List<Path> files, Map<String, Set<TeamDefinition>> teamsByName) {
+        List<DefinitionViolation> violations = Collections.synchronizedList(new ArrayList<>());
+        List<DefinitionFile> definitions = files.parallelStream()
+                .map(file -> {
+                    DefinitionFile definition = read(file, teamsByName, violations::add);
+                    if (definition != null) {
+                        RULES.forEach(rule -> rule.check(definition, violations::add));
+                    }
+                    return definition;
+                })
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(DefinitionFile::name))
+                .toList();
+        List<DefinitionViolation> sorted = new ArrayList<>(violations);
+        sorted.sort(DefinitionViolation.ORDER);
+        return new Result(definitions, sorted);
+    }
+
+    private static DefinitionFile read(
+            Path file, Map<String, Set<TeamDefinition>> teamsByName, Consumer<DefinitionViolation> violations) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(".yml")) {
+            violations.accept(new DefinitionViolation(
+                    name, 0, "Unexpected file: " + name, "YAML files must end with `.yml`, rename the file."));
+            return null;
+        }
+        try {
+            return DefinitionFile.parse(name, Files.readString(file), teamsByName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + name, e);
+        } catch (MarkedYAMLException e) {
+            int line = e.getProblemMark() == null ? 0 : e.getProblemMark().getLine() + 1;
+            violations.accept(new DefinitionViolation(name, line, "Failed to read " + name, """
+                    The file is not a valid permission definition:
+
+                    ```
+                    %s
+                    ```
+                    """.formatted(e.getMessage()).stripIndent()));
+        } catch (RuntimeException e) {
+            violations.accept(new DefinitionViolation(name, 0, "Failed to read " + name, e.getMessage()));
+        }
+        return null;
+    }
+
+    private static void checkContinuousDelivery(DefinitionFile file, Consumer<DefinitionViolation> violations) {
+        Definition definition = file.definition();
+        if (definition.getCd() == null || !definition.getCd().enabled) {
+            return;
+        }
+        if (definition.getGithub() == null) {
+            violations.accept(new DefinitionViolation(
+                    file.name(),
+                    file.lineOf("cd"),
+                    "CD requires a GitHub repository",
+                    "Cannot have CD (`cd`) enabled without specifying GitHub repository (`github`), for component: "
+                            + definition.getName()));
+        } else if (!definition.getGithub().matches("(jenkinsci|jenkins-infra)/.+")) {
+            violations.accept(new DefinitionViolation(
+                    file.name(),
+                    file.lineOf("github"),
+                    "CD is only supported for repositories in @jenkinsci",
+                    "CD is only supported when the GitHub repository is in @jenkinsci"));
+        }
+    }
+
+    private static void checkIssues(DefinitionFile file, Consumer<DefinitionViolation> violations) {
+        Definition definition = file.definition();
+        if (definition.getIssues() == null || definition.getIssues().length == 0) {
+            return;
+        }
+        if (definition.getGithub() == null) {
+            violations.accept(new DefinitionViolation(
+                    file.name(),
+                    file.lineOf("issues"),
+                    "Issue trackers require a GitHub repository",
+                    "Issue trackers (`issues`) support requires GitHub repository (`github`)"));
+            return;
+        }
+        for (Definition.IssueTracker tracker : definition.getIssues()) {
+            try {
+                tracker.isJira();
+            } catch (IllegalArgumentException e) {
+                violations.accept(new DefinitionViolation(
+                        file.name(), file.lineOf("issues"), "Invalid issue tracker", e.getMessage()));
+            }
+        }
+    }
+
+    private static void checkUsers(DefinitionFile file, Consumer<DefinitionViolation> violations) {
+        Definition definition = file.definition();
+        boolean artifactory = definition.getCd() == null || !definition.getCd().exclusive;
+        for (String dev : definition.getDevelopers()) {
+            boolean inArtifactory = !artifactory || KnownUsers.existsInArtifactory(dev);
+            boolean inJira = KnownUsers.existsInJira(dev);
+            String services;
+            String links;
+            if (!inArtifactory && !inJira) {
+                services = "Artifactory and Jira";
+                links = "[Artifactory](https://repo.jenkins-ci.org/) and [Jira](https://issues.jenkins.io/)";
+            } else if (!inArtifactory) {
+                services = "Artifactory";
+                links = "[Artifactory](https://repo.jenkins-ci.org/)";
+            } else if (!inJira) {
+                services = "Jira";
+                links = "[Jira](https://issues.jenkins.io/)";
+            } else {
+                continue;
+            }
+            violations.accept(new DefinitionViolation(
+                    file.name(), file.lineOfDeveloper(dev), dev + " needs to log in to " + services, """
+                            %s needs to log in to %s.
+
+                            We resync our %s user list every 2 hours, so you will need to wait some time before rebuilding your pull request.
+                            The easiest way to trigger a rebuild is to close your pull request, wait a few seconds and then reopen it.
+
+                            Alternatively the hosting team can re-trigger it if you post a comment saying you have now logged in.
+                            """.formatted(dev, links, services).stripIndent()));
+        }
+    }
+
+    /**
+     * Writes the violations as a single report for the GitHub Checks API, see {@code Jenkinsfile}.
+     *
+     * @param directory the name of the directory containing the definitions, used to link files
+     */
+    static void report(String directory, List<DefinitionViolation> violations) throws IOException {
+        String title = violations.size() == 1
+                ? violations.getFirst().title()
+                : violations.size() + " problems found in permission definitions";
+        StringBuilder details = new StringBuilder();
+        for (DefinitionViolation violation : violations) {
+            details.append("### `")
+                    .append(directory)
+                    .append('/')
+                    .append(violation.file())
+                    .append('`');
+            if (violation.line() > 0) {
+                details.append(", line ").append(violation.line());
+            }
+            details.append(": ")
+                    .append(violation.title())
+                    .append("\n\n")
+                    .append(violation.details().strip())
+                    .append("\n\n");
+        }
+        ArtifactoryPermissionsUpdater.reportChecksApiDetails(title, details.toString());
+    }
+}
@@ -0,0 +1,23 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import java.util.Comparator;
+
+/**
+ * A problem with a permission definition file.
+ *
+ * @param file the name of the definition file
+ * @param line the line the problem was found at, starting with 1, or 0 if it applies to the whole file
+ * @param title a short description of the problem
+ * @param details Markdown explaining how to resolve the problem
+ */
+record DefinitionViolation(String file, int line, String title, String details) {
+
+    static final Comparator<DefinitionViolation> ORDER = Comparator.comparing(DefinitionViolation::file)
+            .thenComparingInt(DefinitionViolation::line)
+            .thenComparing(DefinitionViolation::title);
+
+    @Override
+    public String toString() {
+        return file + (line > 0 ? ":" + line : "") + ": " + title;
+    }
+}
@@ -0,0 +1,200 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Answers which generated permission targets, and therefore which users and groups, may deploy a given path, based on
+ * the Artifactory API payloads written by {@link ArtifactoryPermissionsUpdater}.
+ *
+ * <p>The {@code includesPattern} of all permission targets are compiled into a single automaton with one state per
+ * distinct pattern prefix, so that a lookup follows the segments of the path once instead of trying every pattern.
+ * Patterns use Ant syntax: {@code *} matches any number of characters within a segment, {@code ?} a single character,
+ * and a {@code **} segment any number of segments. {@code excludesPattern} is not supported, the generated payloads
+ * never set it.
+ */
+public final class DeployPermissions {
+
+    private final List<PermissionTarget> targets;
+    private final State start = new State();
+
+    private DeployPermissions(List<PermissionTarget> targets) {
+        this.targets = targets;
+        for (int i = 0; i < targets.size(); i++) {
+            for (String pattern : targets.get(i).includesPatterns()) {
+                State state = start;
+                for (String segment : pattern.split("/")) {
+                    state = state.next(segment);
+                }
+                state.accepting.set(i);
+            }
+        }
+    }
+
+    /**
+     * Loads the permission targets from the {@code permissions} directory of the given payloads directory.
+     */
+    public static DeployPermissions load(Path payloadsDir) throws IOException {
+        Path dir = payloadsDir.resolve("permissions");
+        if (!Files.isDirectory(dir)) {
+            throw new IOException(dir + " does not exist, generate the payloads first");
+        }
+        List<PermissionTarget> targets = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : files) {
+                try (BufferedReader reader = Files.newBufferedReader(file)) {
+                    targets.add(PermissionTarget.fromPayload(JsonParser.parseReader(reader).getAsJsonObject()));
+                } catch (RuntimeException e) {
+                    throw new IOException("Failed to read " + file, e);
+                }
+            }
+        }
+        targets.sort((left, right) -> left.name().compareTo(right.name()));
+        return new DeployPermissions(targets);
+    }
+
+    /**
+     * Creates an index of the given permission targets, e.g. for tests.
+     */
+    static DeployPermissions of(List<PermissionTarget> targets) {
+        return new DeployPermissions(List.copyOf(targets));
+    }
+
+    /**
+     * Returns the permission targets that include the given path.
+     *
+     * @param path a path relative to the repository, like {@code org/jenkins-ci/plugins/foo/1.2/foo-1.2.hpi}
+     */
+    public List<PermissionTarget> whoCanDeploy(String path) {
+        String[] segments = path.replaceFirst("^/+", "").split("/");
+        Set<State> current = new HashSet<>();
+        start.addWithClosure(current);
+        for (String segment : segments) {
+            Set<State> next = new HashSet<>();
+            for (State state : current) {
+                state.step(segment, next);
+            }
+            if (next.isEmpty()) {
+                return List.of();
+            }
+            current = next;
+        }
+        BitSet matching = new BitSet();
+        current.forEach(state -> matching.or(state.accepting));
+        return matching.stream().mapToObj(targets::get).toList();
+    }
+
+    /**
+     * A permission target that grants deploy permission to the given users and groups.
+     */
+    public record PermissionTarget(
+            String name,
+            List<String> includesPatterns,
+            List<String> repositories,
+            Set<String> users,
+            Set<String> groups) {
+
+        static PermissionTarget fromPayload(JsonObject payload) {
+            String includes = payload.get("includesPattern").getAsString();
+            List<String> repositories = new ArrayList<>();
+            payload.getAsJsonArray("repositories").forEach(repository -> repositories.add(repository.getAsString()));
+            JsonObject principals = payload.getAsJsonObject("principals");
+            return new PermissionTarget(
+                    payload.get("name").getAsString(),
+                    includes.isEmpty() ? List.of() : Arrays.asList(includes.split(",")),
+                    List.copyOf(repositories),
+                    deployers(principals.getAsJsonObject("users")),
+                    deployers(principals.getAsJsonObject("groups")));
+        }
+
+        private static Set<String> deployers(JsonObject principals) {
+            Set<String> deployers = new TreeSet<>();
+            if (principals != null) {
+                for (Map.Entry<String, JsonElement> principal : principals.entrySet()) {
+                    for (JsonElement right : principal.getValue().getAsJsonArray()) {
+                        if (right.getAsString().equals("w")) {
+                            deployers.add(principal.getKey());
+                        }
+                    }
+                }
+            }
+            return Collections.unmodifiableSet(deployers);
+        }
+    }
+
+    private static final class State {
+        private final Map<String, State> literal = new HashMap<>();
+        private final Map<String, Wildcard> wildcards = new HashMap<>();
+        private State anySegments;
+        private boolean loops;
+        private final BitSet accepting = new BitSet();
+
+        private State next(String segment) {
+            if (segment.equals("**")) {
+                if (anySegments == null) {
+                    anySegments = new State();
+                    anySegments.loops = true;
+                }
+                return anySegments;
+            }
+            if (segment.contains("*") || segment.contains("?")) {
+                return wildcards.computeIfAbsent(segment, Wildcard::new).state;
+            }
+            return literal.computeIfAbsent(segment, unused -> new State());
+        }
+
+        /**
+         * Adds this state and the states reachable from it without consuming a segment, through {@code **}.
+         */
+        private void addWithClosure(Set<State> states) {
+            if (states.add(this) && anySegments != null) {
+                anySegments.addWithClosure(states);
+            }
+        }
+
+        private void step(String segment, Set<State> next) {
+            State exact = literal.get(segment);
+            if (exact != null) {
+                exact.addWithClosure(next);
+            }
+            for (Wildcard wildcard : wildcards.values()) {
+                if (wildcard.pattern.matcher(segment).matches()) {
+                    wildcard.state.addWithClosure(next);
+                }
+            }
+            if (loops) {
+                // ** may consume any number of segments
+                addWithClosure(next);
+            }
+        }
+    }
+
+    private static final class Wildcard {
+        private final Pattern pattern;
+        private final State state = new State();
+
+        private Wildcard(String segment) {
+            pattern = Pattern.compile(segment.chars()
+                    .mapToObj(c -> c == '*' ? "[^/]*" : c == '?' ? "[^/]" : Pattern.quote(Character.toString(c)))
+                    .collect(Collectors.joining()));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Compiles the paths of a permission definition into the {@code includesPattern} of its permission target.
+ *
+ * <p>Each path is expanded into the patterns for the artifacts in its version directories and its Maven metadata.
+ * Patterns that are duplicates of, or matched by, another pattern of the same target are then dropped, so the
+ * remaining patterns match exactly the same paths as the full expansion. Ant patterns cannot express alternatives, so
+ * patterns with a common prefix cannot be merged without matching additional paths.
+ */
+final class IncludesPatterns {
+
+    private IncludesPatterns() {}
+
+    /**
+     * Returns the patterns granting upload permission for the artifacts below {@code path}.
+     */
+    static List<String> forPath(String path, String artifactId) {
+        return List.of(
+                path + "/*/" + artifactId + "-*",
+                path + "/*/maven-metadata.xml",
+                path + "/*/maven-metadata.xml.*",
+                path + "/maven-metadata.xml",
+                path + "/maven-metadata.xml.*");
+    }
+
+    /**
+     * Returns the patterns granting upload permission for the artifacts below all {@code paths}, without patterns
+     * matched by another one.
+     */
+    static List<String> compile(String[] paths, String artifactId) {
+        List<String> patterns = new ArrayList<>();
+        for (String path : paths) {
+            patterns.addAll(forPath(path, artifactId));
+        }
+        return minimize(patterns);
+    }
+
+    /**
+     * Removes duplicates and patterns whose matches are all matched by another pattern, keeping the order of the
+     * remaining patterns.
+     */
+    static List<String> minimize(List<String> patterns) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(patterns));
+        List<String> minimal = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            boolean subsumed = false;
+            for (int j = 0; j < distinct.size() && !subsumed; j++) {
+                // of two patterns matching the same paths, like a-* and a-**, keep the first
+                subsumed = i != j
+                        && subsumes(distinct.get(j), distinct.get(i))
+                        && (j < i || !subsumes(distinct.get(i), distinct.get(j)));
+            }
+            if (!subsumed) {
+                minimal.add(distinct.get(i));
+            }
+        }
+        return minimal;
+    }
+
+    /**
+     * Checks whether every path matched by {@code specific} is also matched by {@code general}.
+     *
+     * <p>The check is conservative: it may return {@code false} for some pairs of patterns where {@code general}
+     * matches everything {@code specific} does, but never returns {@code true} otherwise. Patterns containing a
+     * {@code **} segment are only compared for equality.
+     */
+    static boolean subsumes(String general, String specific) {
+        if (general.equals(specific)) {
+            return true;
+        }
+        String[] generalSegments = general.split("/", -1);
+        String[] specificSegments = specific.split("/", -1);
+        if (generalSegments.length != specificSegments.length) {
+            return false;
+        }
+        for (int i = 0; i < generalSegments.length; i++) {
+            if (generalSegments[i].equals("**") || specificSegments[i].equals("**")) {
+                return false;
+            }
+            if (!segmentSubsumes(generalSegments[i], specificSegments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches {@code general} against {@code specific}, where a wildcard in {@code specific} stands for characters
+     * that only a wildcard in {@code general} is guaranteed to match: {@code *} in {@code general} matches any
+     * sequence, {@code ?} a single literal character or {@code ?}.
+     */
+    private static boolean segmentSubsumes(String general, String specific) {
+        // matched[j] is whether the general pattern so far matches the first j characters of specific
+        boolean[] matched = new boolean[specific.length() + 1];
+        matched[0] = true;
+        for (int i = 0; i < general.length(); i++) {
+            char g = general.charAt(i);
+            boolean[] next = new boolean[specific.length() + 1];
+            if (g == '*') {
+                next[0] = matched[0];
+                for (int j = 1; j <= specific.length(); j++) {
+                    next[j] = matched[j] || next[j - 1];
+                }
+            } else {
+                for (int j = 1; j <= specific.length(); j++) {
+                    char s = specific.charAt(j - 1);
+                    next[j] = matched[j - 1] && s != '*' && (g == s || g == '?');
+                }
+            }
+            matched = next;
+        }
+        return matched[specific.length()];
+    }
+}
@@ -8,6 +8,9 @@ import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -17,19 +20,44 @@ public class KnownUsers {
     private static final String JIRA_USER_NAMES_URL =
             System.getProperty("jiraUserNamesJsonListUrl", "https://reports.jenkins.io/jira-users-report.json");
 
-    private static final Set<String> knownArtifactoryUsers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-    private static final Set<String> knownJiraUsers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private static volatile Set<String> knownArtifactoryUsers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private static volatile Set<String> knownJiraUsers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private static volatile String version = "";
 
     static {
+        refresh();
+    }
+
+    /**
+     * Downloads the user name reports again. Long-running processes call this periodically, as the reports are
+     * regenerated every few hours. If the download fails, the previously known users are kept.
+     */
+    public static void refresh() {
         try {
-            knownArtifactoryUsers.addAll(
-                    parseJson(URI.create(ARTIFACTORY_USER_NAMES_URL).toURL()));
-            knownJiraUsers.addAll(parseJson(URI.create(JIRA_USER_NAMES_URL).toURL()));
+            Set<String> artifactoryUsers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            artifactoryUsers.addAll(parseJson(URI.create(ARTIFACTORY_USER_NAMES_URL).toURL()));
+            Set<String> jiraUsers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            jiraUsers.addAll(parseJson(URI.create(JIRA_USER_NAMES_URL).toURL()));
+            knownArtifactoryUsers = artifactoryUsers;
+            knownJiraUsers = jiraUsers;
+            version = digest(artifactoryUsers, jiraUsers);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    private static String digest(Set<String> artifactoryUsers, Set<String> jiraUsers) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.join("\n", artifactoryUsers).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.join("\n", jiraUsers).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @SuppressFBWarnings(value = "URLCONNECTION_SSRF_FD", justification = "Not relevant in this situation.")
     private static Set<String> parseJson(URL url) throws IOException {
         try (InputStreamReader reader = new InputStreamReader(url.openStream(), StandardCharsets.UTF_8)) {
@@ -44,4 +72,13 @@ public class KnownUsers {
     public static boolean existsInJira(String username) {
         return knownJiraUsers.contains(username);
     }
+
+    /**
+     * Identifies the currently known users, so that results derived from them can be cached until they change.
+     *
+     * @return a digest of the known user names, empty if they could not be downloaded
+     */
+    public static String getVersion() {
+        return version;
+    }
 }
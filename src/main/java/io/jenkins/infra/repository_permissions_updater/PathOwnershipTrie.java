@@ -0,0 +1,143 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the artifact directories ({@code paths}) of permission definitions by path segment, so that overlapping
+ * paths are found without comparing every pair of definitions.
+ *
+ * <p>Segments may contain {@code *} wildcards, which match any number of characters within the segment, like in
+ * {@code org/jenkins-ci/plugins/delphix-*}. Two paths overlap if they have the same number of segments and every pair
+ * of segments matches at least one common name. Paths nested in one another do not overlap, as permissions only apply
+ * to the version directories directly below a path.
+ *
+ * <p>A literal segment is looked up directly among the literal children of a node, but it is still compared with every
+ * wildcard child, and a wildcard segment is compared with every child. So adding a path only takes time proportional
+ * to its number of segments while neither the path nor its siblings contain wildcards. A wildcard segment like the one
+ * in {@code org/jenkins-ci/plugins/*} is compared with every plugin directory, which is still far fewer comparisons
+ * than the pairs of definitions.
+ *
+ * @param <T> the type of the owners of paths
+ */
+final class PathOwnershipTrie<T> {
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Adds a path owned by {@code owner}.
+     *
+     * @return the owners of previously added paths that overlap with {@code path}, in the order they were added
+     */
+    List<T> add(String path, T owner) {
+        String[] segments = path.split("/");
+
+        Set<Node<T>> current = Set.of(root);
+        for (String segment : segments) {
+            Set<Node<T>> next = new LinkedHashSet<>();
+            for (Node<T> node : current) {
+                node.collectMatching(segment, next);
+            }
+            current = next;
+            if (current.isEmpty()) {
+                break;
+            }
+        }
+        Set<T> overlapping = new LinkedHashSet<>();
+        current.forEach(node -> overlapping.addAll(node.owners));
+
+        Node<T> node = root;
+        for (String segment : segments) {
+            node = node.child(segment);
+        }
+        node.owners.add(owner);
+        return new ArrayList<>(overlapping);
+    }
+
+    /**
+     * Checks whether there is a string that matches both patterns, in which {@code *} matches any number of
+     * characters.
+     */
+    static boolean globsIntersect(String left, String right) {
+        // Breadth-first search through the product of both patterns' automata: a state (i, j) means the first i
+        // characters of left and the first j characters of right have consumed the same string.
+        int columns = right.length() + 1;
+        boolean[] visited = new boolean[(left.length() + 1) * columns];
+        Deque<int[]> pending = new ArrayDeque<>();
+        pending.add(new int[] {0, 0});
+        visited[0] = true;
+        while (!pending.isEmpty()) {
+            int[] state = pending.poll();
+            int i = state[0];
+            int j = state[1];
+            if (i == left.length() && j == right.length()) {
+                return true;
+            }
+            boolean leftWildcard = i < left.length() && left.charAt(i) == '*';
+            boolean rightWildcard = j < right.length() && right.charAt(j) == '*';
+            boolean leftLiteral = i < left.length() && !leftWildcard;
+            boolean rightLiteral = j < right.length() && !rightWildcard;
+            List<int[]> successors = new ArrayList<>();
+            if (leftWildcard) {
+                successors.add(new int[] {i + 1, j});
+            }
+            if (rightWildcard) {
+                successors.add(new int[] {i, j + 1});
+            }
+            if (leftLiteral && rightLiteral && left.charAt(i) == right.charAt(j)) {
+                successors.add(new int[] {i + 1, j + 1});
+            }
+            if (leftWildcard && rightLiteral) {
+                successors.add(new int[] {i, j + 1});
+            }
+            if (leftLiteral && rightWildcard) {
+                successors.add(new int[] {i + 1, j});
+            }
+            for (int[] successor : successors) {
+                int index = successor[0] * columns + successor[1];
+                if (!visited[index]) {
+                    visited[index] = true;
+                    pending.add(successor);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> literalChildren = new HashMap<>();
+        private final Map<String, Node<T>> wildcardChildren = new HashMap<>();
+        private final List<T> owners = new ArrayList<>();
+
+        private Node<T> child(String segment) {
+            Map<String, Node<T>> children = segment.contains("*") ? wildcardChildren : literalChildren;
+            return children.computeIfAbsent(segment, unused -> new Node<>());
+        }
+
+        private void collectMatching(String segment, Set<Node<T>> matching) {
+            if (segment.contains("*")) {
+                literalChildren.forEach((name, child) -> {
+                    if (globsIntersect(segment, name)) {
+                        matching.add(child);
+                    }
+                });
+            } else {
+                Node<T> literal = literalChildren.get(segment);
+                if (literal != null) {
+                    matching.add(literal);
+                }
+            }
+            wildcardChildren.forEach((pattern, child) -> {
+                if (globsIntersect(segment, pattern)) {
+                    matching.add(child);
+                }
+            });
+        }
+    }
+}
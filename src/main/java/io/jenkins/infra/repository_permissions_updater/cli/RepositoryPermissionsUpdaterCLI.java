@@ -1,8 +1,12 @@
 package io.jenkins.infra.repository_permissions_updater.cli;
 
 import io.jenkins.infra.repository_permissions_updater.cli.commands.CheckHostingCommand;
+import io.jenkins.infra.repository_permissions_updater.cli.commands.ExplainCommand;
 import io.jenkins.infra.repository_permissions_updater.cli.commands.HostCommand;
+import io.jenkins.infra.repository_permissions_updater.cli.commands.ServeCommand;
 import io.jenkins.infra.repository_permissions_updater.cli.commands.SyncCommand;
+import io.jenkins.infra.repository_permissions_updater.cli.commands.ValidateCommand;
+import io.jenkins.infra.repository_permissions_updater.cli.commands.WhoCanDeployCommand;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 
@@ -15,10 +19,23 @@ import picocli.CommandLine.Command;
         description = "Repository Permissions Updater - Manage Jenkins plugin permissions",
         mixinStandardHelpOptions = true,
         version = "1.0-SNAPSHOT",
-        subcommands = {SyncCommand.class, CheckHostingCommand.class, HostCommand.class})
+        subcommands = {
+            SyncCommand.class,
+            ValidateCommand.class,
+            ExplainCommand.class,
+            CheckHostingCommand.class,
+            HostCommand.class,
+            ServeCommand.class,
+            WhoCanDeployCommand.class
+        })
 public class RepositoryPermissionsUpdaterCLI implements Runnable {
 
     public static void main(String[] args) {
+        // Groovy is on the classpath for the hosting checks, but picocli would otherwise initialize its runtime on
+        // startup of every command, just to support closures in annotations, which are not used here
+        if (System.getProperty("picocli.disable.closures") == null) {
+            System.setProperty("picocli.disable.closures", "true");
+        }
         int exitCode = new CommandLine(new RepositoryPermissionsUpdaterCLI()).execute(args);
         System.exit(exitCode);
     }
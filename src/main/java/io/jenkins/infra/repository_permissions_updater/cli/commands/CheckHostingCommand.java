@@ -2,11 +2,15 @@ package io.jenkins.infra.repository_permissions_updater.cli.commands;
 
 import io.jenkins.infra.repository_permissions_updater.hosting.HostingChecker;
 import java.util.concurrent.Callable;
+import picocli.CommandLine;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
 
 /**
- * Command to check a hosting request.
+ * Command to check a hosting request, or all open hosting requests at once.
  * Configuration is via system properties if needed.
  */
 @Command(
@@ -15,11 +19,43 @@ import picocli.CommandLine.Parameters;
         mixinStandardHelpOptions = true)
 public class CheckHostingCommand implements Callable<Integer> {
 
-    @Parameters(index = "0", description = "GitHub issue number of the hosting request")
-    private int issueNumber;
+    private static final String HOSTING_REQUEST_LABEL = "hosting-request";
+
+    @Spec
+    private CommandSpec spec;
+
+    @Parameters(index = "0", arity = "0..1", description = "GitHub issue number of the hosting request")
+    private Integer issueNumber;
+
+    @Option(
+            names = "--all-open",
+            description = "Check all open issues labeled '" + HOSTING_REQUEST_LABEL + "' instead of a single issue")
+    private boolean allOpen;
+
+    @Option(names = "--label", description = "Check all open issues with this label instead of a single issue")
+    private String label;
+
+    @Option(
+            names = "--parallelism",
+            defaultValue = "4",
+            description = "Number of hosting requests checked concurrently with --all-open or --label")
+    private int parallelism;
 
     @Override
     public Integer call() throws Exception {
+        if (allOpen || label != null) {
+            if (issueNumber != null) {
+                throw new CommandLine.ParameterException(
+                        spec.commandLine(), "An issue number cannot be combined with --all-open or --label");
+            }
+            int failures = new HostingChecker()
+                    .checkOpenRequests(label != null ? label : HOSTING_REQUEST_LABEL, parallelism);
+            return failures == 0 ? 0 : 1;
+        }
+        if (issueNumber == null) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(), "Either an issue number, --all-open or --label is required");
+        }
         new HostingChecker().checkRequest(issueNumber);
         return 0;
     }
@@ -0,0 +1,45 @@
+package io.jenkins.infra.repository_permissions_updater.cli.commands;
+
+import io.jenkins.infra.repository_permissions_updater.ArtifactoryPermissionsUpdater;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * Command to validate single permission definitions and show the payloads generated from them.
+ * Configuration is via the same system properties as {@link SyncCommand}.
+ */
+@Command(
+        name = "explain",
+        description = "Validate permission definitions and print the payloads and index entries generated from them,"
+                + " without reading the other definitions or contacting Artifactory",
+        mixinStandardHelpOptions = true)
+public class ExplainCommand implements Callable<Integer> {
+
+    @Parameters(arity = "1..*", description = "Permission definition files, like permissions/plugin-foo.yml")
+    private List<File> files = new ArrayList<>();
+
+    @Option(
+            names = "--index",
+            description = "Path or URL of the definitions.index.json generated by the last sync, to check for"
+                    + " overlapping paths with other definitions")
+    private String index;
+
+    @Override
+    public Integer call() throws Exception {
+        int invalid = 0;
+        for (File file : files) {
+            try {
+                ArtifactoryPermissionsUpdater.explainDefinition(file, index, System.out);
+            } catch (IllegalStateException e) {
+                // the problems were already logged
+                invalid++;
+            }
+        }
+        return invalid == 0 ? 0 : 1;
+    }
+}
@@ -0,0 +1,97 @@
+package io.jenkins.infra.repository_permissions_updater.cli.commands;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jenkins.infra.repository_permissions_updater.KnownUsers;
+import io.jenkins.infra.repository_permissions_updater.hosting.HostingBot;
+import io.jenkins.infra.repository_permissions_updater.hosting.WebhookHandler;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Command to keep a hosting bot running that receives GitHub webhooks, instead of starting a new process per event.
+ * Wraps the functionality of {@link HostingBot} and {@link WebhookHandler}.
+ */
+@Command(
+        name = "serve",
+        description = "Receive GitHub webhooks for hosting requests and check or host them",
+        mixinStandardHelpOptions = true)
+public class ServeCommand implements Callable<Integer> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServeCommand.class);
+
+    @Option(names = "--port", defaultValue = "8080", description = "Port to listen on")
+    private int port;
+
+    @Option(names = "--bind", defaultValue = "127.0.0.1", description = "Address to listen on")
+    private String bind;
+
+    @Option(names = "--workers", defaultValue = "2", description = "Number of hosting requests processed concurrently")
+    private int workers;
+
+    @Option(
+            names = "--queue-size",
+            defaultValue = "100",
+            description = "Number of pending events accepted before webhooks are rejected")
+    private int queueSize;
+
+    @Option(
+            names = "--debounce-seconds",
+            defaultValue = "5",
+            description = "How long to wait for further edits of a hosting request before checking it")
+    private int debounceSeconds;
+
+    @Option(
+            names = "--known-users-refresh-minutes",
+            defaultValue = "60",
+            description = "How often the known Artifactory and Jira user lists are downloaded again")
+    private int knownUsersRefreshMinutes;
+
+    @Override
+    public Integer call() throws Exception {
+        String secret = System.getenv("WEBHOOK_SECRET");
+        if (secret == null || secret.isEmpty()) {
+            // unsigned deliveries could request hosting on behalf of any hosting team member
+            LOGGER.error("The WEBHOOK_SECRET environment variable needs to be set to the secret of the GitHub webhook");
+            return 1;
+        }
+        HostingBot bot = new HostingBot(workers, queueSize, Duration.ofSeconds(debounceSeconds));
+        HttpServer server = HttpServer.create(new InetSocketAddress(bind, port), 0);
+        server.createContext("/github-webhook", new WebhookHandler(bot, secret));
+        server.createContext("/health", exchange -> {
+            try (exchange) {
+                byte[] response = "OK".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, response.length);
+                exchange.getResponseBody().write(response);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(2));
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleWithFixedDelay(
+                KnownUsers::refresh, knownUsersRefreshMinutes, knownUsersRefreshMinutes, TimeUnit.MINUTES);
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            LOGGER.info("Shutting down");
+            server.stop(5);
+            scheduler.shutdownNow();
+            bot.close();
+            stopped.countDown();
+        }));
+
+        server.start();
+        LOGGER.info("Listening for GitHub webhooks on http://{}:{}/github-webhook", bind, port);
+        stopped.await();
+        return 0;
+    }
+}
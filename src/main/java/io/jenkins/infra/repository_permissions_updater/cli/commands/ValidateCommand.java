@@ -0,0 +1,35 @@
+package io.jenkins.infra.repository_permissions_updater.cli.commands;
+
+import io.jenkins.infra.repository_permissions_updater.ArtifactoryPermissionsUpdater;
+import java.util.concurrent.Callable;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Command to validate the permission definitions affected by the changes of a pull request.
+ * Configuration is via the same system properties as {@link SyncCommand}.
+ */
+@Command(
+        name = "validate",
+        description = "Validate the permission definitions changed since a Git ref, without contacting Artifactory",
+        mixinStandardHelpOptions = true)
+public class ValidateCommand implements Callable<Integer> {
+
+    @Option(
+            names = "--base",
+            required = true,
+            description = "The Git ref to compare the working tree to, like origin/master")
+    private String base;
+
+    @Option(
+            names = "--index",
+            description = "Path or URL of the definitions.index.json generated by the last sync,"
+                    + " defaults to ${DEFAULT-VALUE}")
+    private String index = "https://reports.jenkins.io/definitions.index.json";
+
+    @Override
+    public Integer call() throws Exception {
+        ArtifactoryPermissionsUpdater.validateChanges(base, index);
+        return 0;
+    }
+}
@@ -0,0 +1,89 @@
+package io.jenkins.infra.repository_permissions_updater.cli.commands;
+
+import io.jenkins.infra.repository_permissions_updater.DeployPermissions;
+import io.jenkins.infra.repository_permissions_updater.DeployPermissions.PermissionTarget;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
+
+/**
+ * Command to look up which permission targets, users and groups may deploy a path, based on generated payloads.
+ * Wraps the functionality of {@link DeployPermissions}.
+ */
+@Command(
+        name = "who-can-deploy",
+        description = "Show which permission targets, users and groups may deploy the given paths",
+        mixinStandardHelpOptions = true)
+public class WhoCanDeployCommand implements Callable<Integer> {
+
+    @Spec
+    private CommandSpec spec;
+
+    @Parameters(description = "Paths relative to the repository, like org/jenkins-ci/plugins/foo/1.2/foo-1.2.hpi")
+    private List<String> paths = new ArrayList<>();
+
+    @Option(
+            names = "--file",
+            description = "Read additional paths from this file, one per line, or from standard input if '-'")
+    private String file;
+
+    @Option(
+            names = "--payloads",
+            description = "Directory with the generated Artifactory API payloads, defaults to the artifactoryApiTempDir"
+                    + " system property or ./json")
+    private Path payloads = Path.of(System.getProperty("artifactoryApiTempDir", "./json"));
+
+    @Override
+    public Integer call() throws Exception {
+        if (paths.isEmpty() && file == null) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "Either paths or --file is required");
+        }
+        DeployPermissions permissions = DeployPermissions.load(payloads);
+
+        int undeployable = 0;
+        for (String path : paths) {
+            undeployable += print(permissions, path) ? 0 : 1;
+        }
+        if (file != null) {
+            try (BufferedReader reader = file.equals("-")
+                    ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                    : Files.newBufferedReader(Path.of(file))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        undeployable += print(permissions, line.trim()) ? 0 : 1;
+                    }
+                }
+            }
+        }
+        return undeployable == 0 ? 0 : 1;
+    }
+
+    private boolean print(DeployPermissions permissions, String path) {
+        List<PermissionTarget> targets = permissions.whoCanDeploy(path);
+        System.out.println(path);
+        if (targets.isEmpty()) {
+            System.out.println("  no permission target");
+        }
+        for (PermissionTarget target : targets) {
+            System.out.printf(
+                    "  %s (%s): users %s; groups %s%n",
+                    target.name(),
+                    String.join(", ", target.repositories()),
+                    target.users().isEmpty() ? "none" : String.join(", ", target.users()),
+                    target.groups().isEmpty() ? "none" : String.join(", ", target.groups()));
+        }
+        return !targets.isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable index of {@code banned-dependencies.lst}.
+ *
+ * <p>Each line has the form {@code <groupId>:<artifactId>;<alternative-groupId>:<alternative-artifactId>[;<comment>]}.
+ * Either part of the banned coordinate may end with {@code *} to match all group IDs or artifact IDs with that prefix,
+ * e.g. {@code org.bouncycastle:*} or {@code org.apache.commons:commons-*}. Exact entries win over artifactId prefixes,
+ * which win over groupId prefixes; among prefixes the longest one wins.
+ */
+final class BannedDependencies {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BannedDependencies.class);
+
+    static final Path FILE = Path.of(System.getProperty("bannedDependenciesFile", "banned-dependencies.lst"));
+
+    private static Loaded loaded;
+
+    private final Map<String, ArtifactIds> byGroupId = new HashMap<>();
+    private final Map<String, ArtifactIds> byGroupIdPrefix = new HashMap<>();
+
+    private BannedDependencies() {}
+
+    /**
+     * Returns the index of the banned dependencies file, re-reading it only when its modification time changed.
+     *
+     * @throws IllegalStateException if the file does not exist
+     */
+    static BannedDependencies get() {
+        return get(FILE);
+    }
+
+    static synchronized BannedDependencies get(Path file) {
+        try {
+            FileTime lastModified = Files.getLastModifiedTime(file);
+            if (loaded == null || !loaded.file().equals(file) || !loaded.lastModified().equals(lastModified)) {
+                loaded = new Loaded(file, lastModified, parse(Files.readAllLines(file, StandardCharsets.UTF_8)));
+                LOGGER.info("Loaded banned dependencies from {}", file.toAbsolutePath());
+            }
+            return loaded.index();
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("Banned dependencies file " + file.toAbsolutePath()
+                    + " does not exist, the hosting checker needs to run from the repository root"
+                    + " or set -DbannedDependenciesFile");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file.toAbsolutePath(), e);
+        }
+    }
+
+    static BannedDependencies parse(List<String> lines) {
+        BannedDependencies index = new BannedDependencies();
+        for (String line : lines) {
+            line = line.trim();
+            if (line.startsWith("#") || line.isEmpty()) {
+                continue;
+            }
+            String[] parts = line.split(";", 3);
+            String[] coordinate = parts[0].split(":", 2);
+            if (parts.length < 2 || coordinate.length < 2) {
+                LOGGER.warn("Ignoring malformed banned dependency entry: {}", line);
+                continue;
+            }
+            Ban ban = new Ban(parts[0], parts[1], parts.length > 2 ? parts[2] : null);
+            String groupId = coordinate[0];
+            Map<String, ArtifactIds> byGroup = index.byGroupId;
+            if (groupId.endsWith("*")) {
+                groupId = groupId.substring(0, groupId.length() - 1);
+                byGroup = index.byGroupIdPrefix;
+            }
+            byGroup.computeIfAbsent(groupId, unused -> new ArtifactIds()).add(coordinate[1], ban);
+        }
+        return index;
+    }
+
+    /**
+     * Looks up the ban matching the given coordinates, if any.
+     */
+    Optional<Ban> find(String groupId, String artifactId) {
+        ArtifactIds artifactIds = byGroupId.get(groupId);
+        Ban ban = artifactIds == null ? null : artifactIds.find(artifactId);
+        for (int i = groupId.length(); ban == null && i >= 0; i--) {
+            artifactIds = byGroupIdPrefix.get(groupId.substring(0, i));
+            if (artifactIds != null) {
+                ban = artifactIds.find(artifactId);
+            }
+        }
+        return Optional.ofNullable(ban);
+    }
+
+    /**
+     * The banned artifact IDs and artifact ID prefixes of one group ID or group ID prefix.
+     */
+    private static final class ArtifactIds {
+        private final Map<String, Ban> exact = new HashMap<>();
+        private final Map<String, Ban> prefixes = new HashMap<>();
+
+        void add(String artifactId, Ban ban) {
+            if (artifactId.endsWith("*")) {
+                prefixes.put(artifactId.substring(0, artifactId.length() - 1), ban);
+            } else {
+                exact.put(artifactId, ban);
+            }
+        }
+
+        Ban find(String artifactId) {
+            Ban ban = exact.get(artifactId);
+            for (int i = artifactId.length(); ban == null && i >= 0; i--) {
+                ban = prefixes.get(artifactId.substring(0, i));
+            }
+            return ban;
+        }
+    }
+
+    /**
+     * @param pattern the banned coordinate as written in the file
+     * @param alternative the {@code groupId:artifactId} to use instead
+     * @param comment optional explanation, may be {@code null}
+     */
+    record Ban(String pattern, String alternative, String comment) {}
+
+    private record Loaded(Path file, FileTime lastModified, BannedDependencies index) {}
+}
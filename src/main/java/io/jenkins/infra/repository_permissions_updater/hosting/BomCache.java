@@ -0,0 +1,305 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide and on-disk cache of the Jenkins plugin BOMs published on repo.jenkins-ci.org.
+ *
+ * <p>{@code maven-metadata.xml} is revalidated using its ETag once {@link #METADATA_TTL} has passed, while released
+ * BOM POMs never change and are cached forever. The managed dependencies resolved from a BOM version are stored as a
+ * sorted list of {@code groupId:artifactId[:classifier]} lines, one file per BOM version.
+ */
+final class BomCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BomCache.class);
+
+    private static final String BOM_ROOT_URL = "https://repo.jenkins-ci.org/artifactory/public/io/jenkins/tools/bom/";
+
+    /**
+     * BOM artifact IDs and versions end up in URLs and file names, and they can be influenced by the pom.xml of a
+     * hosting request, so only plain Maven coordinates are accepted.
+     */
+    private static final Pattern SAFE_COORDINATE = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(Integer.getInteger("bomHttpTimeoutSeconds", 20));
+
+    private static final Duration METADATA_TTL = Duration.ofMinutes(Integer.getInteger("bomMetadataTtlMinutes", 10));
+
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private static final BomCache INSTANCE = new BomCache(HostingConfig.CACHE_DIR.resolve("bom"), BOM_ROOT_URL);
+
+    private final Path directory;
+    private final String rootUrl;
+    private final Map<String, LatestVersion> latestVersions = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> managedDependencies = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Set<String>>> inProgress = new ConcurrentHashMap<>();
+
+    /**
+     * @param rootUrl the URL of the directory containing the BOM artifacts, ending with {@code /}
+     */
+    BomCache(Path directory, String rootUrl) {
+        this.directory = directory;
+        this.rootUrl = rootUrl;
+    }
+
+    static BomCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the latest released version of the given BOM, or {@code null} if it cannot be determined.
+     */
+    String getLatestVersion(String artifactId) {
+        return getLatestVersion(artifactId, true);
+    }
+
+    /**
+     * @param conditional whether to revalidate the metadata cached on disk rather than downloading it again
+     */
+    private String getLatestVersion(String artifactId, boolean conditional) {
+        if (!isSafe(artifactId)) {
+            LOGGER.warn("Refusing to look up bom with unexpected artifactId '{}'", artifactId);
+            return null;
+        }
+        LatestVersion cached = latestVersions.get(artifactId);
+        if (cached != null && cached.fetched().plus(METADATA_TTL).isAfter(Instant.now())) {
+            return cached.version();
+        }
+
+        Path metadataFile = directory.resolve("metadata").resolve(artifactId + ".xml");
+        Path etagFile = directory.resolve("metadata").resolve(artifactId + ".etag");
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(
+                            URI.create(rootUrl + artifactId + "/maven-metadata.xml"))
+                    .timeout(TIMEOUT)
+                    .GET();
+            if (conditional && Files.isRegularFile(metadataFile) && Files.isRegularFile(etagFile)) {
+                builder.header("If-None-Match", Files.readString(etagFile).trim());
+            }
+            HttpResponse<byte[]> response = HTTP_CLIENT.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            String latest;
+            if (response.statusCode() == 304) {
+                try {
+                    latest = readLatestVersion(Files.readAllBytes(metadataFile));
+                } catch (XmlPullParserException | IOException e) {
+                    LOGGER.warn("Discarding corrupt cached maven metadata of {}", artifactId, e);
+                    Files.deleteIfExists(etagFile);
+                    Files.deleteIfExists(metadataFile);
+                    if (conditional) {
+                        return getLatestVersion(artifactId, false);
+                    }
+                    return cached == null ? null : cached.version();
+                }
+            } else if (response.statusCode() == 200) {
+                latest = readLatestVersion(response.body());
+                CacheFiles.write(metadataFile, response.body());
+                Optional<String> etag = response.headers().firstValue("ETag");
+                if (etag.isPresent()) {
+                    CacheFiles.write(etagFile, etag.get().getBytes(StandardCharsets.UTF_8));
+                } else {
+                    Files.deleteIfExists(etagFile);
+                }
+            } else {
+                LOGGER.warn("Failed to read maven metadata of {}: HTTP {}", artifactId, response.statusCode());
+                return cached == null ? null : cached.version();
+            }
+            latestVersions.put(artifactId, new LatestVersion(latest, Instant.now()));
+            return latest;
+        } catch (XmlPullParserException | IOException e) {
+            LOGGER.warn("Failed to read maven metadata of {}", artifactId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return cached == null ? null : cached.version();
+    }
+
+    private static String readLatestVersion(byte[] content) throws XmlPullParserException, IOException {
+        Metadata metadata = new MetadataXpp3Reader().read(new ByteArrayInputStream(content));
+        if (metadata.getVersioning() == null || metadata.getVersioning().getLatest() == null) {
+            throw new IOException("No latest version in maven metadata");
+        }
+        return metadata.getVersioning().getLatest();
+    }
+
+    /**
+     * Returns the {@code groupId:artifactId[:classifier]} of all dependencies managed by the given BOM version,
+     * including those of imported line BOMs. Returns an empty set if the BOM cannot be resolved.
+     *
+     * <p>Imported BOMs are downloaded concurrently, and concurrent resolutions of the same BOM share one download.
+     */
+    Set<String> getManagedDependencies(String artifactId, String version) {
+        try {
+            return resolve(artifactId, version, Set.of()).get(TIMEOUT.toMillis() * 3, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            LOGGER.warn("Failed to read bom pom {}:{}", artifactId, version, e.getCause());
+        } catch (TimeoutException e) {
+            LOGGER.warn("Timed out resolving bom {}:{}", artifactId, version);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * @param importedBy the BOMs importing this one, to break import cycles
+     */
+    private CompletableFuture<Set<String>> resolve(String artifactId, String version, Set<String> importedBy) {
+        if (!isSafe(artifactId) || !isSafe(version)) {
+            return CompletableFuture.failedFuture(
+                    new IOException("Unexpected bom coordinates " + artifactId + ":" + version));
+        }
+        String key = artifactId + ":" + version;
+        Set<String> cached = managedDependencies.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Set<String>> resolution = new CompletableFuture<>();
+        CompletableFuture<Set<String>> running = inProgress.putIfAbsent(key, resolution);
+        if (running != null) {
+            return running;
+        }
+        Set<String> path = new HashSet<>(importedBy);
+        path.add(artifactId);
+        load(artifactId, version, path).whenComplete((dependencies, failure) -> {
+            if (failure == null) {
+                managedDependencies.put(key, dependencies);
+                resolution.complete(dependencies);
+            } else {
+                resolution.completeExceptionally(failure);
+            }
+            inProgress.remove(key);
+        });
+        return resolution;
+    }
+
+    private CompletableFuture<Set<String>> load(String artifactId, String version, Set<String> path) {
+        Path listFile = directory.resolve("managed").resolve(artifactId).resolve(version + ".lst");
+        if (Files.isRegularFile(listFile)) {
+            try {
+                return CompletableFuture.completedFuture(
+                        Set.copyOf(Files.readAllLines(listFile, StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        return readPom(artifactId, version).thenCompose(model -> {
+            Set<String> dependencies = new HashSet<>();
+            List<CompletableFuture<Set<String>>> imports = new ArrayList<>();
+            DependencyManagement dependencyManagement = model.getDependencyManagement();
+            if (dependencyManagement != null) {
+                for (Dependency d : dependencyManagement.getDependencies()) {
+                    if ("pom".equals(d.getType()) && d.getArtifactId().startsWith("bom-")) {
+                        if (!path.contains(d.getArtifactId())) {
+                            imports.add(resolve(d.getArtifactId(), version, path));
+                        }
+                    } else {
+                        dependencies.add(MavenVerifier.getDependencyAsString(d, false));
+                    }
+                }
+            }
+            return CompletableFuture.allOf(imports.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(unused -> {
+                        imports.forEach(imported -> dependencies.addAll(imported.join()));
+                        try {
+                            String lines = String.join("\n", new TreeSet<>(dependencies));
+                            CacheFiles.write(listFile, lines.getBytes(StandardCharsets.UTF_8));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return Set.copyOf(dependencies);
+                    });
+        });
+    }
+
+    private CompletableFuture<Model> readPom(String artifactId, String version) {
+        String fileName = artifactId + "-" + version + ".pom";
+        Path pomFile = directory.resolve("pom").resolve(artifactId).resolve(fileName);
+        if (Files.isRegularFile(pomFile)) {
+            try {
+                return CompletableFuture.completedFuture(parsePom(Files.readAllBytes(pomFile)));
+            } catch (IOException e) {
+                LOGGER.warn("Discarding corrupt cached bom pom {}", fileName, e);
+                try {
+                    Files.delete(pomFile);
+                } catch (IOException deletion) {
+                    return CompletableFuture.failedFuture(deletion);
+                }
+            }
+        }
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create(rootUrl + artifactId + "/" + version + "/" + fileName))
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+        return HTTP_CLIENT
+                .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    try {
+                        if (response.statusCode() != 200) {
+                            throw new IOException("Failed to download " + fileName + ": HTTP " + response.statusCode());
+                        }
+                        Model model = parsePom(response.body());
+                        CacheFiles.write(pomFile, response.body());
+                        return model;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static Model parsePom(byte[] content) throws IOException {
+        try {
+            return new MavenXpp3Reader().read(new ByteArrayInputStream(content));
+        } catch (XmlPullParserException e) {
+            throw new IOException("Failed to parse bom pom", e);
+        }
+    }
+
+    private static boolean isSafe(String coordinate) {
+        return coordinate != null
+                && SAFE_COORDINATE.matcher(coordinate).matches()
+                && !coordinate.contains("..");
+    }
+
+    private record LatestVersion(String version, Instant fetched) {}
+}
@@ -0,0 +1,28 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Helpers for files below {@link HostingConfig#CACHE_DIR}, which may be shared by concurrent hosting checks.
+ */
+final class CacheFiles {
+
+    private CacheFiles() {}
+
+    /**
+     * Writes through a temporary file so that concurrent readers never see partial content.
+     */
+    static void write(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, content);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches successful {@code GET} responses of the GitHub API on disk and revalidates them with {@code If-None-Match}
+ * and {@code If-Modified-Since}, serving the cached body when GitHub responds {@code 304 Not Modified}.
+ *
+ * <p>Entries are keyed by URL, media type and credentials, as responses differ between tokens.
+ */
+final class CachingGitHubConnector implements GitHubConnector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingGitHubConnector.class);
+
+    private static final int MAX_BODY_SIZE = 4 * 1024 * 1024;
+
+    private static final Gson GSON = new Gson();
+
+    private final GitHubConnector delegate;
+    private final Path directory;
+
+    CachingGitHubConnector(GitHubConnector delegate, Path directory) {
+        this.delegate = delegate;
+        this.directory = directory;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        if (!"GET".equals(request.method())) {
+            return delegate.send(request);
+        }
+        Path file = directory.resolve(key(request) + ".json");
+        Entry cached = load(file);
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.allHeaders());
+        if (cached != null && cached.etag() != null) {
+            headers.put("If-None-Match", List.of(cached.etag()));
+        }
+        if (cached != null && cached.lastModified() != null) {
+            headers.put("If-Modified-Since", List.of(cached.lastModified()));
+        }
+
+        GitHubConnectorResponse response = delegate.send(new ConditionalRequest(request, headers));
+        if (response.statusCode() == 304 && cached != null) {
+            Map<String, List<String>> merged = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            merged.putAll(cached.headers());
+            // rate limit headers of the revalidation are current
+            copyHeaders(response, merged);
+            response.close();
+            return new CachedResponse(request, 200, merged, Base64.getDecoder().decode(cached.body()));
+        }
+        if (response.statusCode() != 200
+                || (response.header("ETag") == null && response.header("Last-Modified") == null)) {
+            return response;
+        }
+
+        byte[] body;
+        try (response;
+                InputStream stream = response.bodyStream()) {
+            body = stream.readAllBytes();
+        }
+        Map<String, List<String>> responseHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copyHeaders(response, responseHeaders);
+        if (body.length <= MAX_BODY_SIZE) {
+            save(
+                    file,
+                    new Entry(
+                            response.header("ETag"),
+                            response.header("Last-Modified"),
+                            responseHeaders,
+                            Base64.getEncoder().encodeToString(body)));
+        }
+        return new CachedResponse(request, 200, responseHeaders, body);
+    }
+
+    private static String key(GitHubConnectorRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[] {
+                request.url().toString(),
+                Objects.toString(request.header("Accept"), ""),
+                Objects.toString(request.header("Authorization"), "")
+            }) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Entry load(Path file) {
+        try {
+            Entry entry = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8), Entry.class);
+            if (entry != null && entry.headers() != null && entry.body() != null) {
+                return entry;
+            }
+        } catch (NoSuchFileException e) {
+            // not cached yet
+        } catch (IOException | JsonParseException | IllegalArgumentException e) {
+            LOGGER.warn("Ignoring unreadable cached GitHub response {}", file, e);
+        }
+        return null;
+    }
+
+    private static void save(Path file, Entry entry) {
+        try {
+            CacheFiles.write(file, GSON.toJson(entry).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to cache GitHub response {}", file, e);
+        }
+    }
+
+    private static void copyHeaders(GitHubConnectorResponse response, Map<String, List<String>> target) {
+        response.allHeaders().forEach((name, values) -> {
+            // bodies are passed on decompressed
+            if (name != null && !name.equalsIgnoreCase("Content-Encoding")) {
+                target.put(name, values);
+            }
+        });
+    }
+
+    /**
+     * @param body the decompressed response body, Base64 encoded
+     */
+    private record Entry(String etag, String lastModified, Map<String, List<String>> headers, String body) {}
+
+    private static final class CachedResponse extends GitHubConnectorResponse.ByteArrayResponse {
+        private final byte[] body;
+
+        CachedResponse(GitHubConnectorRequest request, int statusCode, Map<String, List<String>> headers, byte[] body) {
+            super(request, statusCode, headers);
+            this.body = body;
+        }
+
+        @Override
+        protected InputStream rawBodyStream() {
+            return new ByteArrayInputStream(body);
+        }
+    }
+
+    /**
+     * The original request with additional conditional headers.
+     */
+    private record ConditionalRequest(GitHubConnectorRequest request, Map<String, List<String>> allHeaders)
+            implements GitHubConnectorRequest {
+
+        @Override
+        public String method() {
+            return request.method();
+        }
+
+        @Override
+        public String header(String name) {
+            List<String> values = allHeaders.get(name);
+            return values == null || values.isEmpty() ? null : String.join(",", values);
+        }
+
+        @Override
+        public String contentType() {
+            return request.contentType();
+        }
+
+        @Override
+        public InputStream body() {
+            return request.body();
+        }
+
+        @Override
+        public URL url() {
+            return request.url();
+        }
+
+        @Override
+        public boolean hasBody() {
+            return request.hasBody();
+        }
+    }
+}
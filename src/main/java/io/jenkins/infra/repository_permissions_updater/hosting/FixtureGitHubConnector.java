@@ -0,0 +1,159 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+/**
+ * Records GitHub API exchanges into fixture files, or replays them without network access, so that hosting checks can
+ * be benchmarked and debugged offline.
+ *
+ * <p>Each exchange is stored in its own file, named after the request method and URL. Request bodies and credentials
+ * are not part of the name and are not recorded, so a later exchange with the same method and URL replaces an earlier
+ * one.
+ */
+final class FixtureGitHubConnector implements GitHubConnector {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final GitHubConnector delegate;
+    private final Path directory;
+    private final Duration latency;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private FixtureGitHubConnector(GitHubConnector delegate, Path directory, Duration latency) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.latency = latency;
+    }
+
+    /**
+     * Sends requests to {@code delegate} and records the responses in {@code directory}.
+     */
+    static FixtureGitHubConnector recording(GitHubConnector delegate, Path directory) {
+        return new FixtureGitHubConnector(delegate, directory, Duration.ZERO);
+    }
+
+    /**
+     * Serves responses recorded in {@code directory}, each after the given latency.
+     */
+    static FixtureGitHubConnector replaying(Path directory, Duration latency) {
+        return new FixtureGitHubConnector(null, directory, latency);
+    }
+
+    /**
+     * @return the number of requests sent or replayed so far
+     */
+    int getRequestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        requests.incrementAndGet();
+        Path file = directory.resolve(fileName(request));
+        if (delegate == null) {
+            return replay(request, file);
+        }
+
+        GitHubConnectorResponse response = delegate.send(request);
+        byte[] body;
+        try (response;
+                InputStream stream = response.bodyStream()) {
+            body = stream == null ? new byte[0] : stream.readAllBytes();
+        } catch (IOException e) {
+            // error responses may not have a body
+            body = new byte[0];
+        }
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        response.allHeaders().forEach((name, values) -> {
+            // bodies are recorded decompressed
+            if (name != null && !name.equalsIgnoreCase("Content-Encoding") && !name.equalsIgnoreCase("Set-Cookie")) {
+                headers.put(name, values);
+            }
+        });
+        Exchange exchange = new Exchange(
+                request.method(),
+                request.url().toString(),
+                response.statusCode(),
+                headers,
+                Base64.getEncoder().encodeToString(body));
+        CacheFiles.write(file, GSON.toJson(exchange).getBytes(StandardCharsets.UTF_8));
+        return new FixtureResponse(request, response.statusCode(), headers, body);
+    }
+
+    private GitHubConnectorResponse replay(GitHubConnectorRequest request, Path file) throws IOException {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while replaying " + request.url(), e);
+            }
+        }
+        Exchange exchange;
+        try {
+            exchange = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8), Exchange.class);
+        } catch (NoSuchFileException e) {
+            throw new IOException("No recorded response for " + request.method() + " " + request.url(), e);
+        }
+        return new FixtureResponse(
+                request, exchange.status(), exchange.headers(), Base64.getDecoder().decode(exchange.body()));
+    }
+
+    private static String fileName(GitHubConnectorRequest request) {
+        return fileName(request.method().toLowerCase(Locale.ROOT), request.url().toString(), ".json");
+    }
+
+    /**
+     * Names a fixture file after a hash of {@code key}, like a URL.
+     */
+    static String fileName(String prefix, String key, String suffix) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            return prefix + "-" + HexFormat.of().formatHex(hash, 0, 12) + suffix;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param body the decompressed response body, Base64 encoded
+     */
+    private record Exchange(String method, String url, int status, Map<String, List<String>> headers, String body) {}
+
+    private static final class FixtureResponse extends GitHubConnectorResponse.ByteArrayResponse {
+        private final byte[] body;
+
+        FixtureResponse(
+                GitHubConnectorRequest request, int statusCode, Map<String, List<String>> headers, byte[] body) {
+            super(request, statusCode, headers);
+            this.body = body;
+        }
+
+        @Override
+        protected InputStream rawBodyStream() {
+            return new ByteArrayInputStream(body);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds top-level folders that ever contained files in the history of a repository, using a local partial clone.
+ *
+ * <p>Only commits and trees are fetched ({@code --filter=blob:none}), so the cost is one fetch regardless of the
+ * number of commits, instead of one GitHub API call per commit.
+ */
+final class GitHistoryScanner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHistoryScanner.class);
+
+    private static final Duration TIMEOUT =
+            Duration.ofSeconds(Integer.getInteger("gitHistoryScanTimeoutSeconds", 120));
+
+    private static volatile Path fixturesDirectory;
+
+    private static volatile boolean replaying;
+
+    private GitHistoryScanner() {}
+
+    /**
+     * Records scan results in {@code directory}, or with {@code replay}, returns the recorded results without running
+     * {@code git}, like {@link FixtureGitHubConnector} does for GitHub API exchanges.
+     *
+     * @param directory the fixtures directory, or {@code null} to scan repositories normally
+     */
+    static void useFixtures(Path directory, boolean replay) {
+        fixturesDirectory = directory;
+        replaying = replay;
+    }
+
+    /**
+     * Returns those of {@code folders} that contained files in any commit of the default branch.
+     *
+     * @param cloneUrl the HTTPS clone URL of the repository
+     * @throws IOException if the repository could not be cloned or scanned, e.g. because {@code git} is not installed
+     */
+    static Set<String> findFolders(String cloneUrl, Set<String> folders) throws IOException, InterruptedException {
+        Path fixtures = fixturesDirectory;
+        if (fixtures == null) {
+            return scan(cloneUrl, folders);
+        }
+        Path fixture = fixtures.resolve(FixtureGitHubConnector.fileName("git-history", cloneUrl, ".txt"));
+        if (replaying) {
+            try {
+                Set<String> found = new HashSet<>(Files.readAllLines(fixture, StandardCharsets.UTF_8));
+                found.retainAll(folders);
+                return found;
+            } catch (NoSuchFileException e) {
+                throw new IOException("No recorded history scan of " + cloneUrl, e);
+            }
+        }
+        Set<String> found = scan(cloneUrl, folders);
+        CacheFiles.write(fixture, String.join("\n", new TreeSet<>(found)).getBytes(StandardCharsets.UTF_8));
+        return found;
+    }
+
+    private static Set<String> scan(String cloneUrl, Set<String> folders) throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("rpu-history-scan");
+        try {
+            run(
+                    directory,
+                    List.of(
+                            "git",
+                            "clone",
+                            "--quiet",
+                            "--bare",
+                            "--single-branch",
+                            "--no-tags",
+                            "--filter=blob:none",
+                            "--",
+                            cloneUrl,
+                            "repo.git"),
+                    null);
+            Set<String> found = new HashSet<>();
+            run(
+                    directory.resolve("repo.git"),
+                    List.of(
+                            "git",
+                            "-c",
+                            "core.quotePath=false",
+                            "log",
+                            "--format=",
+                            "--name-only",
+                            "--no-renames",
+                            "HEAD"),
+                    line -> {
+                        // names with quotes, backslashes or control characters are still quoted
+                        String path = line.startsWith("\"") ? line.substring(1) : line;
+                        int slash = path.indexOf('/');
+                        if (slash > 0 && folders.contains(path.substring(0, slash))) {
+                            found.add(path.substring(0, slash));
+                        }
+                        return found.size() < folders.size();
+                    });
+            return found;
+        } finally {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    /**
+     * Runs a git command, passing each line of its output to {@code lines} until it returns {@code false}.
+     */
+    private static void run(Path workingDirectory, List<String> command, LineConsumer lines)
+            throws IOException, InterruptedException {
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(workingDirectory.toFile())
+                .redirectErrorStream(true);
+        builder.environment().put("GIT_TERMINAL_PROMPT", "0");
+        Process process = builder.start();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        CompletableFuture.delayedExecutor(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> {
+                    if (process.isAlive()) {
+                        timedOut.set(true);
+                        process.destroyForcibly();
+                    }
+                });
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (lines == null) {
+                    output.add(line);
+                } else if (!lines.accept(line)) {
+                    process.destroy();
+                    return;
+                }
+            }
+            process.waitFor();
+        } finally {
+            process.destroyForcibly();
+        }
+        if (timedOut.get()) {
+            throw new IOException("Timed out after " + TIMEOUT + " running " + String.join(" ", command));
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("Failed to run " + String.join(" ", command) + ": " + String.join("\n", output));
+        }
+        LOGGER.debug("Ran {}", command);
+    }
+
+    @FunctionalInterface
+    private interface LineConsumer {
+        boolean accept(String line);
+    }
+}
@@ -0,0 +1,95 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.extras.HttpClientGitHubConnector;
+
+/**
+ * Provides the GitHub client shared by the hosting checks, {@link Hoster} and {@link HostingBot}.
+ *
+ * <p>Credentials are looked up like {@link GitHub#connect()} does. All requests share one HTTP client, and
+ * {@code GET} responses are cached on disk and revalidated with conditional requests, which do not count against the
+ * rate limit when the content is unchanged.
+ *
+ * <p>If {@code gitHubFixturesDir} is set, all exchanges and {@link GitHistoryScanner history scans} are recorded there
+ * instead, or with {@code gitHubFixturesMode=replay}, served from there without access to GitHub.
+ */
+public final class GitHubClient {
+
+    private static final boolean HTTP_CACHE = Boolean.parseBoolean(System.getProperty("gitHubHttpCache", "true"));
+
+    private static final String FIXTURES_DIR = System.getProperty("gitHubFixturesDir");
+
+    private static final boolean REPLAY = "replay".equals(System.getProperty("gitHubFixturesMode", "record"));
+
+    private static final Duration REPLAY_LATENCY =
+            Duration.ofMillis(Integer.getInteger("gitHubFixturesLatencyMillis", 0));
+
+    private static GitHub instance;
+
+    private GitHubClient() {}
+
+    /**
+     * Returns the shared client, creating it on first use.
+     */
+    public static synchronized GitHub get() throws IOException {
+        if (instance == null) {
+            if (FIXTURES_DIR != null) {
+                GitHistoryScanner.useFixtures(Path.of(FIXTURES_DIR), REPLAY);
+            }
+            if (FIXTURES_DIR != null && REPLAY) {
+                instance = new GitHubBuilder()
+                        .withConnector(FixtureGitHubConnector.replaying(Path.of(FIXTURES_DIR), REPLAY_LATENCY))
+                        .build();
+                return instance;
+            }
+            GitHubConnector connector = new HttpClientGitHubConnector();
+            if (FIXTURES_DIR != null) {
+                connector = FixtureGitHubConnector.recording(connector, Path.of(FIXTURES_DIR));
+            } else if (HTTP_CACHE) {
+                connector = new CachingGitHubConnector(connector, HostingConfig.CACHE_DIR.resolve("github-http"));
+            }
+            instance = credentials().withConnector(connector).build();
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the shared client, e.g. with one replaying recorded responses.
+     */
+    static synchronized void set(GitHub github) {
+        instance = github;
+    }
+
+    /**
+     * Looks up credentials in the environment, then in {@code ~/.github}, and fails if there are none, as anonymous
+     * requests cannot host repositories and quickly exceed the rate limit.
+     */
+    private static GitHubBuilder credentials() throws IOException {
+        if (System.getenv("GITHUB_OAUTH") != null
+                || System.getenv("GITHUB_JWT") != null
+                || System.getenv("GITHUB_LOGIN") != null) {
+            return GitHubBuilder.fromEnvironment();
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(Path.of(System.getProperty("user.home"), ".github"))) {
+            properties.load(in);
+        } catch (NoSuchFileException e) {
+            throw new IOException("Failed to resolve credentials from ~/.github or the environment.", e);
+        }
+        if (properties.getProperty("oauth") == null
+                && properties.getProperty("jwt") == null
+                && properties.getProperty("login") == null) {
+            throw new IOException("Failed to resolve credentials from ~/.github or the environment.");
+        }
+        return GitHubBuilder.fromProperties(properties);
+    }
+}
@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
@@ -13,11 +14,14 @@ import org.kohsuke.github.GHCommit;
 import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHLicense;
 import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GHUser;
 import org.kohsuke.github.GitHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class GitHubVerifier implements Verifier {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubVerifier.class);
+
     private static final String UNWANTED_FILES =
             "It was detected that you have files in the `%s` folder or that you had in the past files in that folder. "
                     + "Please remove the `target` folder and also rewrite the git history to never have contained any files in the `%s` folder.";
@@ -30,22 +34,15 @@ public class GitHubVerifier implements Verifier {
 
     @Override
     public void verify(HostingRequest request) throws IOException {
-        GitHub github = GitHub.connect();
+        GitHub github = GitHubClient.get();
         String forkFrom = request.getRepositoryUrl();
         List<String> users = request.getGithubUsers();
 
         if (!users.isEmpty()) {
-            List<String> invalidUsers = new ArrayList<>();
-            for (String user : users) {
-                try {
-                    GHUser ghUser = github.getUser(user.trim());
-                    if (ghUser == null || !ghUser.getType().equalsIgnoreCase("user")) {
-                        invalidUsers.add(user.trim());
-                    }
-                } catch (IOException e) {
-                    invalidUsers.add(user.trim());
-                }
-            }
+            List<String> invalidUsers = UserResolver.get().resolve(github, users).values().stream()
+                    .filter(user -> !user.isUser())
+                    .map(UserResolver.ResolvedUser::login)
+                    .toList();
 
             if (!invalidUsers.isEmpty()) {
                 hostingIssues.add(new VerificationMessage(
@@ -92,7 +89,7 @@ public class GitHubVerifier implements Verifier {
                     checkReadme(repo);
                     checkLicense(repo);
                     checkForkedFromJenkinsCi(repo, forkFrom);
-                    checkForkedIntoJenkinsCi(repo, forkFrom);
+                    checkForkedIntoJenkinsCi(github, repo, forkFrom);
                     checkUnwantedFiles(repo);
                 }
             } else {
@@ -102,13 +99,24 @@ public class GitHubVerifier implements Verifier {
         }
     }
 
-    private void checkForkedIntoJenkinsCi(GHRepository repo, String forkFrom) {
+    private void checkForkedIntoJenkinsCi(GitHub github, GHRepository repo, String forkFrom) {
         // now need to check if there are any forks INTO jenkinsci already from this repo
         try {
             List<String> badForks = new ArrayList<>();
-            for (GHRepository fork : repo.listForks()) {
-                if (fork.getFullName().startsWith("jenkinsci")) {
-                    badForks.add(fork.getFullName());
+            List<String> indexed;
+            try {
+                indexed = OrgIndex.get("jenkinsci").findForksOf(github, repo.getFullName());
+            } catch (IOException e) {
+                LOGGER.warn("Failed to use the repository index of jenkinsci, listing all forks instead", e);
+                indexed = null;
+            }
+            if (indexed != null) {
+                badForks.addAll(indexed);
+            } else {
+                for (GHRepository fork : repo.listForks()) {
+                    if (fork.getFullName().startsWith("jenkinsci")) {
+                        badForks.add(fork.getFullName());
+                    }
                 }
             }
 
@@ -176,6 +184,17 @@ public class GitHubVerifier implements Verifier {
     private void checkUnwantedFiles(GHRepository repo) {
         boolean foundTargetFolder = false;
         boolean foundWorkFolder = false;
+        try {
+            Set<String> folders = GitHistoryScanner.findFolders(repo.getHttpTransportUrl(), Set.of("target", "work"));
+            addUnwantedFilesMessages(folders.contains("target"), folders.contains("work"));
+            return;
+        } catch (IOException e) {
+            LOGGER.warn(
+                    "Failed to scan the history of {} locally, falling back to the GitHub API", repo.getFullName(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
         for (GHCommit commit : repo.listCommits()) {
             try {
                 List<GHCommit.File> files = commit.listFiles().toList();
@@ -192,6 +211,10 @@ public class GitHubVerifier implements Verifier {
                 break;
             }
         }
+        addUnwantedFilesMessages(foundTargetFolder, foundWorkFolder);
+    }
+
+    private void addUnwantedFilesMessages(boolean foundTargetFolder, boolean foundWorkFolder) {
         if (foundTargetFolder) {
             hostingIssues.add(
                     new VerificationMessage(VerificationMessage.Severity.REQUIRED, UNWANTED_FILES, "target", "target"));
@@ -9,14 +9,11 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.util.HashSet;
-import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.CodeVisitorSupport;
-import org.codehaus.groovy.ast.builder.AstBuilder;
 import org.codehaus.groovy.ast.expr.ArgumentListExpression;
 import org.codehaus.groovy.ast.expr.BinaryExpression;
 import org.codehaus.groovy.ast.expr.ClosureExpression;
@@ -28,7 +25,6 @@ import org.codehaus.groovy.ast.stmt.BlockStatement;
 import org.codehaus.groovy.ast.stmt.ExpressionStatement;
 import org.codehaus.groovy.ast.stmt.Statement;
 import org.codehaus.groovy.control.CompilationFailedException;
-import org.codehaus.groovy.control.CompilePhase;
 import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHRepository;
@@ -86,7 +82,7 @@ public class GradleVerifier extends CodeVisitorSupport implements BuildSystemVer
 
     @Override
     public void verify(HostingRequest issue) throws IOException {
-        GitHub github = GitHub.connect();
+        GitHub github = GitHubClient.get();
         forkFrom = issue.getRepositoryUrl();
         forkTo = issue.getNewRepoName();
 
@@ -103,13 +99,8 @@ public class GradleVerifier extends CodeVisitorSupport implements BuildSystemVer
                     if (buildGradle != null) {
                         InputStream input = buildGradle.read();
 
-                        AstBuilder astBuilder = new AstBuilder();
-                        List<ASTNode> nodes = astBuilder.buildFromString(
-                                CompilePhase.SEMANTIC_ANALYSIS,
-                                false,
-                                IOUtils.toString(input, Charset.defaultCharset()));
-
-                        BlockStatement node = (BlockStatement) nodes.getFirst();
+                        BlockStatement node = GroovyParser.parseStatements(
+                                "build.gradle", IOUtils.toString(input, Charset.defaultCharset()));
                         for (Statement s : node.getStatements()) {
                             if (s instanceof ExpressionStatement statement) {
                                 Expression e = statement.getExpression();
@@ -186,14 +177,12 @@ public class GradleVerifier extends CodeVisitorSupport implements BuildSystemVer
         return HostingChecker.fileExistsInRepo(issue, "build.gradle");
     }
 
-    public static String getShortName(String contents) {
+    public static String getShortName(String contents) throws IOException {
         String res = null;
 
-        AstBuilder astBuilder = new AstBuilder();
-        List<ASTNode> nodes = astBuilder.buildFromString(CompilePhase.SEMANTIC_ANALYSIS, false, contents);
+        BlockStatement node = GroovyParser.parseStatements("build.gradle", contents);
         boolean isDone = false;
 
-        BlockStatement node = (BlockStatement) nodes.getFirst();
         for (Statement s : node.getStatements()) {
             Expression e = ((ExpressionStatement) s).getExpression();
             if (e instanceof MethodCallExpression mc) {
@@ -223,12 +212,10 @@ public class GradleVerifier extends CodeVisitorSupport implements BuildSystemVer
         return res;
     }
 
-    public static String getGroupId(String contents) {
+    public static String getGroupId(String contents) throws IOException {
         String res = null;
-        AstBuilder astBuilder = new AstBuilder();
-        List<ASTNode> nodes = astBuilder.buildFromString(CompilePhase.SEMANTIC_ANALYSIS, false, contents);
+        BlockStatement node = GroovyParser.parseStatements("build.gradle", contents);
 
-        BlockStatement node = (BlockStatement) nodes.getFirst();
         for (Statement s : node.getStatements()) {
             Expression e = ((ExpressionStatement) s).getExpression();
             if (e instanceof BinaryExpression be) {
@@ -0,0 +1,118 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import groovy.lang.GroovyClassLoader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.codehaus.groovy.ast.stmt.BlockStatement;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+
+/**
+ * Parses Groovy scripts like {@code Jenkinsfile} and {@code build.gradle} into their syntax tree, without compiling
+ * them.
+ *
+ * <p>Parsing stops after {@link Phases#CONVERSION}, the first phase that produces the AST, so no classes are resolved.
+ * The compiler configuration and class loader are shared, and the statements of recently parsed scripts are cached by
+ * their Git blob SHA. Callers must not modify the returned AST.
+ */
+final class GroovyParser {
+
+    private static final int MAX_SOURCE_LENGTH = Integer.getInteger("groovyParseMaxLength", 256 * 1024);
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(Integer.getInteger("groovyParseTimeoutSeconds", 10));
+
+    private static final int CACHE_SIZE = 256;
+
+    private static final CompilerConfiguration CONFIGURATION = new CompilerConfiguration();
+
+    private static final GroovyClassLoader CLASS_LOADER =
+            new GroovyClassLoader(GroovyParser.class.getClassLoader(), CONFIGURATION);
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "groovy-parser");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Map<String, BlockStatement> CACHE =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, BlockStatement> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private GroovyParser() {}
+
+    /**
+     * Returns the top-level statements of the given script.
+     *
+     * @throws CompilationFailedException if the script is not syntactically valid
+     * @throws IOException if the script is too large or takes too long to parse
+     */
+    static BlockStatement parseStatements(String name, String source) throws IOException {
+        if (source.length() > MAX_SOURCE_LENGTH) {
+            throw new IOException(name + " is larger than " + MAX_SOURCE_LENGTH + " characters");
+        }
+        String key = blobSha(source);
+        BlockStatement cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Future<BlockStatement> parsing = EXECUTOR.submit(() -> {
+            CompilationUnit unit = new CompilationUnit(CONFIGURATION, null, CLASS_LOADER);
+            unit.addSource(name, source);
+            unit.compile(Phases.CONVERSION);
+            return unit.getAST().getModules().getFirst().getStatementBlock();
+        });
+        try {
+            BlockStatement statements = parsing.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            CACHE.put(key, statements);
+            return statements;
+        } catch (TimeoutException e) {
+            // the parser does not check for interruption, but the thread is a daemon
+            parsing.cancel(true);
+            throw new IOException("Parsing " + name + " took longer than " + TIMEOUT);
+        } catch (InterruptedException e) {
+            parsing.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing " + name, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Failed to parse " + name, e.getCause());
+        }
+    }
+
+    /**
+     * Computes the SHA GitHub reports for a file with this content, so cache hits do not depend on where the content
+     * came from.
+     */
+    private static String blobSha(String source) {
+        byte[] content = source.getBytes(StandardCharsets.UTF_8);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(("blob " + content.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
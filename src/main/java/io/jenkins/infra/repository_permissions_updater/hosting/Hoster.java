@@ -4,7 +4,6 @@ import static io.jenkins.infra.repository_permissions_updater.hosting.HostingCon
 import static io.jenkins.infra.repository_permissions_updater.hosting.HostingConfig.HOSTING_REPO_SLUG;
 import static io.jenkins.infra.repository_permissions_updater.hosting.HostingConfig.INFRA_ORGANIZATION;
 import static io.jenkins.infra.repository_permissions_updater.hosting.HostingConfig.TARGET_ORG_NAME;
-import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.regex.Pattern.CASE_INSENSITIVE;
 import static java.util.stream.Collectors.joining;
@@ -14,8 +13,12 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.function.Consumer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.io.IOUtils;
@@ -111,7 +114,7 @@ public class Hoster {
                     + "\n\nWelcome aboard!";
 
             // add comment
-            GitHub github = GitHub.connect();
+            GitHub github = GitHubClient.get();
             GHIssue issue = github.getRepository(HOSTING_REPO_SLUG).getIssue(issueID);
             issue.comment(msg);
             issue.close();
@@ -123,7 +126,7 @@ public class Hoster {
     }
 
     private void reportHostingFailure(int issueID, String errorMessage) throws IOException {
-        GitHub github = GitHub.connect();
+        GitHub github = GitHubClient.get();
         GHIssue issue = github.getRepository(HOSTING_REPO_SLUG).getIssue(issueID);
         String msg = "Hosting request failed,\n\n"
                 + errorMessage
@@ -141,7 +144,7 @@ public class Hoster {
         boolean result = false;
         try {
 
-            GitHub github = GitHub.connect();
+            GitHub github = GitHubClient.get();
             GHOrganization org = github.getOrganization(TARGET_ORG_NAME);
             GHRepository check = org.getRepository(newName);
             if (check != null) {
@@ -186,62 +189,77 @@ public class Hoster {
                 // we started seeing 500 errors, presumably due to time out.
                 // give it a bit of time and see if the repository is there
                 LOGGER.info("GitHub reported that it failed to fork {}/{}. But we aren't trusting", owner, repo);
-                r = null;
-                for (int i = 0; r == null && i < 5; i++) {
-                    Thread.sleep(1000);
-                    r = org.getRepository(repo);
+                try {
+                    r = ReadinessWaiter.GITHUB.await("fork of " + repo, () -> org.getRepository(repo));
+                } catch (IOException notFound) {
+                    e.addSuppressed(notFound);
+                    throw e;
                 }
-                if (r == null) throw e;
             }
             if (newName != null) {
-                boolean renameResult = false;
-                for (int i = 0; i < 5; i++) {
+                GHRepository fork = r;
+                ReadinessWaiter.GITHUB.await("rename of " + repo + " to " + newName, () -> {
                     try {
-                        renameResult = renameRepository(r, newName);
-                        break;
+                        return renameRepository(fork, newName) ? Boolean.TRUE : null;
                     } catch (HttpException e) {
-                        LOGGER.warn("Failed to rename repository from {} to {}", repo, newName);
                         if (e.getResponseCode() == 422) {
-                            Thread.sleep(2000);
-                        } else {
-                            throw new IOException(
-                                    "Failed to rename repository from " + repo + " to " + newName + ":", e);
+                            // the fork is not ready yet
+                            LOGGER.warn("Failed to rename repository from {} to {}", repo, newName);
+                            return null;
                         }
+                        throw new IOException("Failed to rename repository from " + repo + " to " + newName + ":", e);
                     }
-                }
+                });
                 LOGGER.info("Renamed repository from {} to {}", repo, newName);
-                if (!renameResult) {
-                    throw new IOException(
-                            "Failed to rename repository from " + repo + " to " + newName + " after 5 tries.");
-                }
 
-                r = null;
-                for (int i = 0; r == null && i < 5; i++) {
-                    Thread.sleep(1000);
-                    r = org.getRepository(newName);
-                }
-                if (r == null)
-                    throw new IOException(repo + " renamed to " + newName + " but not finding the new repository");
+                r = ReadinessWaiter.GITHUB.await(repo + " renamed to " + newName, () -> org.getRepository(newName));
             }
 
+            OrgIndex.get(TARGET_ORG_NAME).recordRepository(r);
+
             // GitHub adds a lot of teams to this repo by default, which we don't want
             Set<GHTeam> legacyTeams = r.getTeams();
 
+            // The remaining steps are independent of each other, but the repository URL changes with the rename
+            final GHRepository created = r;
+            List<String> teamMembers = maintainers.isEmpty() ? singletonList(user.getName()) : maintainers;
+            ExecutorService executor = Executors.newFixedThreadPool(4);
             try {
-                getOrCreateRepoLocalTeam(
-                        github, org, r, maintainers.isEmpty() ? singletonList(user.getName()) : maintainers);
-            } catch (IOException e) {
-                // if 'user' is an org, the above command would fail
-                LOGGER.warn("Failed to add {} to the new repository. Maybe an org?: {}", user, e.getMessage());
-                // fall through
+                List<Future<?>> steps = new ArrayList<>();
+                steps.add(executor.submit(() -> {
+                    try {
+                        getOrCreateRepoLocalTeam(github, org, created, teamMembers);
+                    } catch (IOException e) {
+                        // if 'user' is an org, the above command would fail
+                        LOGGER.warn(
+                                "Failed to add {} to the new repository. Maybe an org?: {}", user, e.getMessage());
+                        // fall through
+                    }
+                    // remove all the existing teams once the repository team has access
+                    for (GHTeam team : legacyTeams) team.remove(created);
+                    return null;
+                }));
+                for (RepositorySetupStep step : setupSteps(created)) {
+                    steps.add(executor.submit(() -> {
+                        step.run();
+                        return null;
+                    }));
+                }
+                for (Future<?> step : steps) {
+                    try {
+                        step.get();
+                    } catch (ExecutionException e) {
+                        throw e.getCause() instanceof IOException ioException
+                                ? ioException
+                                : new IOException(e.getCause());
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
             }
-            setupRepository(r);
 
             LOGGER.info("Created https://github.com/{}/{}", TARGET_ORG_NAME, newName != null ? newName : repo);
 
-            // remove all the existing teams
-            for (GHTeam team : legacyTeams) team.remove(r);
-
             result = true;
         } catch (InterruptedException | IOException e) {
             LOGGER.error("Failed to fork a repository: ", e);
@@ -256,22 +274,28 @@ public class Hoster {
     }
 
     /**
-     * Fix up the repository set up to our policy.
+     * The steps to fix up the repository set up to our policy, which can run in any order.
      */
-    private static void setupRepository(GHRepository r) throws IOException {
-        r.enableIssueTracker(true);
-        r.enableWiki(false);
-        r.setHomepage("https://plugins.jenkins.io/" + r.getName().replace("-plugin", "") + "/");
-        r.createAutolink()
-                .withKeyPrefix("JENKINS-")
-                .withUrlTemplate("https://issue-redirect.jenkins.io/browse/JENKINS-<num>")
-                .withIsAlphanumeric(false)
-                .create();
-        r.createAutolink()
-                .withKeyPrefix("SECURITY-")
-                .withUrlTemplate("https://jenkins.io/security/issue/SECURITY-<num>")
-                .withIsAlphanumeric(false)
-                .create();
+    private static List<RepositorySetupStep> setupSteps(GHRepository r) {
+        return List.of(
+                () -> r.enableIssueTracker(true),
+                () -> r.enableWiki(false),
+                () -> r.setHomepage("https://plugins.jenkins.io/" + r.getName().replace("-plugin", "") + "/"),
+                () -> r.createAutolink()
+                        .withKeyPrefix("JENKINS-")
+                        .withUrlTemplate("https://issue-redirect.jenkins.io/browse/JENKINS-<num>")
+                        .withIsAlphanumeric(false)
+                        .create(),
+                () -> r.createAutolink()
+                        .withKeyPrefix("SECURITY-")
+                        .withUrlTemplate("https://jenkins.io/security/issue/SECURITY-<num>")
+                        .withIsAlphanumeric(false)
+                        .create());
+    }
+
+    @FunctionalInterface
+    private interface RepositorySetupStep {
+        void run() throws IOException;
     }
 
     /**
@@ -280,23 +304,26 @@ public class Hoster {
     private static GHTeam getOrCreateRepoLocalTeam(
             GitHub github, GHOrganization org, GHRepository r, List<String> githubUsers) throws IOException {
         String teamName = r.getName() + " Developers";
-        GHTeam t = org.getTeams().get(teamName);
+        OrgIndex index = OrgIndex.get(org.getLogin());
+        GHTeam t = index.findTeam(org, teamName);
         if (t == null) {
             GHTeamBuilder ghCreateTeamBuilder = org.createTeam(teamName).privacy(GHTeam.Privacy.CLOSED);
-            List<String> maintainers = emptyList();
-            if (!githubUsers.isEmpty()) {
-                maintainers = githubUsers.stream()
-                        // to be added as a maintainer of a team, you have to be a member of the org already
-                        .filter(user -> isMemberOfOrg(github, org, user))
-                        .toList();
+            Map<String, UserResolver.ResolvedUser> users = UserResolver.get().resolve(github, githubUsers, org);
+            List<String> maintainers = users.values().stream()
+                    // to be added as a maintainer of a team, you have to be a member of the org already
+                    .filter(UserResolver.ResolvedUser::isMember)
+                    .map(UserResolver.ResolvedUser::login)
+                    .toList();
+            if (!maintainers.isEmpty()) {
                 ghCreateTeamBuilder = ghCreateTeamBuilder.maintainers(maintainers.toArray(new String[0]));
             }
             t = ghCreateTeamBuilder.create();
+            index.recordTeam(t);
 
-            List<String> usersNotInMaintainers = new ArrayList<>(githubUsers);
-            usersNotInMaintainers.removeAll(maintainers);
             final GHTeam team = t;
-            usersNotInMaintainers.forEach(addUserToTeam(github, team));
+            users.values().stream()
+                    .filter(user -> !user.isMember())
+                    .forEach(user -> addUserToTeam(team, user));
             // GitHub automatically adds the user to the team who created the team, we don't want that
             team.remove(github.getMyself());
         }
@@ -306,26 +333,18 @@ public class Hoster {
         return t;
     }
 
-    private static boolean isMemberOfOrg(GitHub gitHub, GHOrganization org, String user) {
+    private static void addUserToTeam(GHTeam team, UserResolver.ResolvedUser user) {
+        if (!user.exists()) {
+            LOGGER.error("Failed to add user {} to team {}: no such user", user.login(), team.getName());
+            return;
+        }
         try {
-            GHUser ghUser = gitHub.getUser(user);
-            return org.hasMember(ghUser);
+            team.add(user.user());
         } catch (IOException e) {
-            e.printStackTrace();
-            return false;
+            LOGGER.error("Failed to add user %s to team %s".formatted(user.login(), team.getName()), e);
         }
     }
 
-    private static Consumer<String> addUserToTeam(GitHub github, GHTeam team) {
-        return user -> {
-            try {
-                team.add(github.getUser(user));
-            } catch (IOException e) {
-                LOGGER.error("Failed to add user %s to team %s".formatted(user, team.getName()), e);
-            }
-        };
-    }
-
     @SuppressFBWarnings(value = "VA_FORMAT_STRING_USES_NEWLINE", justification = "TODO needs triage")
     String createUploadPermissionPR(
             int issueId, String forkTo, List<String> ghUsers, List<String> releaseUsers, boolean enableCD) {
@@ -339,7 +358,7 @@ public class Hoster {
                     return null;
                 }
 
-                GitHub github = GitHub.connect();
+                GitHub github = GitHubClient.get();
                 GHOrganization org = github.getOrganization(INFRA_ORGANIZATION);
                 GHRepository repo = org.getRepository(HOSTING_REPO_NAME);
 
@@ -0,0 +1,216 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static io.jenkins.infra.repository_permissions_updater.hosting.HostingConfig.HOSTING_REPO_SLUG;
+import static io.jenkins.infra.repository_permissions_updater.hosting.HostingConfig.INFRA_ORGANIZATION;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import org.kohsuke.github.GHTeam;
+import org.kohsuke.github.GitHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs {@link HostingChecker} and {@link Hoster} work for hosting request issues on a bounded pool of workers.
+ *
+ * <p>Checks are debounced per issue: a check only starts once no further check of the same issue was requested for the
+ * debounce delay, so a burst of issue edits results in one check of the latest issue body. A check that is still
+ * running when a newer one is requested is superseded and stops without commenting.
+ */
+public class HostingBot implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HostingBot.class);
+
+    private static final String HOSTING_TEAM_SLUG = "hosting";
+
+    /**
+     * Checks a hosting request, like {@link HostingChecker#checkRequest(int, BooleanSupplier)}.
+     */
+    @FunctionalInterface
+    interface Check {
+        void run(int issueID, BooleanSupplier superseded) throws IOException;
+    }
+
+    /**
+     * Hosts a request on behalf of a user.
+     */
+    @FunctionalInterface
+    interface Host {
+        void run(int issueID, String actor) throws IOException;
+    }
+
+    private final Check check;
+    private final Host host;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService scheduler;
+    private final Duration debounce;
+    private final int queueSize;
+
+    private final AtomicLong generations = new AtomicLong();
+    private final Map<Integer, Long> latestCheck = new HashMap<>();
+    private final Map<Integer, ScheduledFuture<?>> scheduledChecks = new HashMap<>();
+    private final Set<HostRequest> queuedHosts = new HashSet<>();
+
+    /**
+     * A queued host command. Commands are deduplicated per actor, as only some actors may host.
+     */
+    private record HostRequest(int issueID, String actor) {}
+
+    public HostingBot(int workers, int queueSize, Duration debounce) {
+        this(
+                workers,
+                queueSize,
+                debounce,
+                (issueID, superseded) -> new HostingChecker().checkRequest(issueID, superseded),
+                HostingBot::hostIfAllowed);
+        // runs long enough for the index of jenkinsci repositories to pay off, unlike a single check on a CI runner
+        OrgIndex.enableBuilding();
+    }
+
+    HostingBot(int workers, int queueSize, Duration debounce, Check check, Host host) {
+        this.check = check;
+        this.host = host;
+        this.executor = new ThreadPoolExecutor(
+                workers, workers, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "hosting-bot-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hosting-bot-debounce");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.debounce = debounce;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Requests a check of the given hosting request, superseding any earlier check of the same issue.
+     *
+     * @return {@code false} if too many checks are pending
+     */
+    public synchronized boolean requestCheck(int issueID) {
+        ScheduledFuture<?> pending = scheduledChecks.remove(issueID);
+        if (pending != null) {
+            pending.cancel(false);
+            LOGGER.info("Coalescing check of hosting request {} with the pending one", issueID);
+        } else if (scheduledChecks.size() + executor.getQueue().size() >= queueSize) {
+            LOGGER.warn("Queue is full, dropping check of hosting request {}", issueID);
+            return false;
+        }
+        long generation = generations.incrementAndGet();
+        latestCheck.put(issueID, generation);
+        scheduledChecks.put(
+                issueID,
+                scheduler.schedule(() -> startCheck(issueID, generation), debounce.toMillis(), TimeUnit.MILLISECONDS));
+        return true;
+    }
+
+    /**
+     * Queues hosting of the given request, if {@code actor} is a member of the hosting team.
+     *
+     * @return {@code false} if the queue is full
+     */
+    public synchronized boolean requestHost(int issueID, String actor) {
+        HostRequest request = new HostRequest(issueID, actor);
+        if (queuedHosts.contains(request)) {
+            LOGGER.info("Hosting of request {} by {} is already queued", issueID, actor);
+            return true;
+        }
+        try {
+            executor.execute(() -> runHost(issueID, actor));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Queue is full, dropping hosting of request {} by {}", issueID, actor);
+            return false;
+        }
+        queuedHosts.add(request);
+        return true;
+    }
+
+    private synchronized boolean isSuperseded(int issueID, long generation) {
+        Long latest = latestCheck.get(issueID);
+        return latest == null || latest != generation;
+    }
+
+    private synchronized void startCheck(int issueID, long generation) {
+        if (isSuperseded(issueID, generation)) {
+            return;
+        }
+        scheduledChecks.remove(issueID);
+        try {
+            executor.execute(() -> runCheck(issueID, generation));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Queue is full, dropping check of hosting request {}", issueID);
+            latestCheck.remove(issueID);
+        }
+    }
+
+    private void runCheck(int issueID, long generation) {
+        try {
+            check.run(issueID, () -> isSuperseded(issueID, generation));
+        } catch (Exception e) {
+            LOGGER.error("Failed to check hosting request {}", issueID, e);
+        } finally {
+            synchronized (this) {
+                latestCheck.remove(issueID, generation);
+            }
+        }
+    }
+
+    private void runHost(int issueID, String actor) {
+        synchronized (this) {
+            queuedHosts.remove(new HostRequest(issueID, actor));
+        }
+        try {
+            host.run(issueID, actor);
+        } catch (Exception e) {
+            LOGGER.error("Failed to host request {}", issueID, e);
+        }
+    }
+
+    /**
+     * Hosts the request if {@code actor} is a member of the hosting team, or explains on the issue why not.
+     */
+    private static void hostIfAllowed(int issueID, String actor) throws IOException {
+        GitHub github = GitHubClient.get();
+        GHTeam hostingTeam = github.getOrganization(INFRA_ORGANIZATION).getTeamBySlug(HOSTING_TEAM_SLUG);
+        if (hostingTeam == null || !hostingTeam.hasMember(github.getUser(actor))) {
+            LOGGER.warn("{} is not a member of the hosting team, not hosting request {}", actor, issueID);
+            github.getRepository(HOSTING_REPO_SLUG)
+                    .getIssue(issueID)
+                    .comment("@" + actor + " only the hosting team can use this command to host the repository,"
+                            + " once it's ready.");
+            return;
+        }
+        new Hoster().run(issueID);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
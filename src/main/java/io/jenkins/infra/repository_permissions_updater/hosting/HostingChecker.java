@@ -3,21 +3,35 @@ package io.jenkins.infra.repository_permissions_updater.hosting;
 import static io.jenkins.infra.repository_permissions_updater.hosting.HostingConfig.HOSTING_REPO_SLUG;
 import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
+import io.jenkins.infra.repository_permissions_updater.hosting.VerificationCache.Input;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
-import org.javatuples.Triplet;
 import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHIssue;
+import org.kohsuke.github.GHIssueComment;
+import org.kohsuke.github.GHIssueState;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
+import org.kohsuke.github.PagedIterable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,37 +42,143 @@ public class HostingChecker {
     public static final String INVALID_FORK_FROM =
             "Repository URL '%s' is not a valid GitHub repository (check that you do not have .git at the end, GitHub API doesn't support this).";
 
+    private static final String COMMENT_HEADER = "Hello from your friendly Jenkins Hosting Checker\n\n";
+
+    private static final int COMMENTS_PAGE_SIZE = 100;
+
+    /**
+     * How far back to look for the last checker comment on issues with more than one page of comments, before listing
+     * all comments.
+     */
+    private static final List<Duration> RECENT_COMMENTS = List.of(Duration.ofDays(7), Duration.ofDays(90));
+
+    /**
+     * The verifications of each hosting request, in the order they are run.
+     */
+    static final List<Verification> VERIFICATIONS = List.of(
+            new Verification("Request", HostingFieldVerifier::new, null, Set.of()),
+            // depends on users, forks and licenses on GitHub
+            new Verification("GitHub", GitHubVerifier::new, null, null),
+            // also depends on the latest BOM versions, see MavenVerifier#getLatestBoms
+            new Verification(
+                    "Maven",
+                    MavenVerifier::new,
+                    new FileExistsConditionChecker("pom.xml"),
+                    Set.of(Input.REPOSITORY_HEAD, Input.RULES)),
+            new Verification("JenkinsProjectUsers", JenkinsProjectUserVerifier::new, null, Set.of(Input.KNOWN_USERS)),
+            new Verification("Jelly", JellyVerifier::new, null, Set.of(Input.REPOSITORY_HEAD)),
+            new Verification(
+                    "RequiredFiles",
+                    RequiredFilesVerifier::new,
+                    null,
+                    Set.of(Input.REPOSITORY_HEAD, Input.RULES)));
+
+    /**
+     * Checks all open issues with the given label in one process, sharing caches and the known users data.
+     *
+     * @param label only issues with this label are checked, typically {@code hosting-request}
+     * @param parallelism how many requests are checked concurrently
+     * @return the number of requests that could not be checked
+     */
+    public int checkOpenRequests(String label, int parallelism) throws IOException, InterruptedException {
+        GitHub github = GitHubClient.get();
+        List<Integer> issueIDs = github.getRepository(HOSTING_REPO_SLUG)
+                .queryIssues()
+                .label(label)
+                .state(GHIssueState.OPEN)
+                .pageSize(100)
+                .list()
+                .toList()
+                .stream()
+                .filter(issue -> !issue.isPullRequest())
+                .map(GHIssue::getNumber)
+                .toList();
+        LOGGER.info("Checking {} open issues labeled '{}'", issueIDs.size(), label);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            List<Future<?>> checks = new ArrayList<>();
+            for (int issueID : issueIDs) {
+                checks.add(executor.submit(() -> {
+                    checkRequest(issueID);
+                    return null;
+                }));
+            }
+            int failures = 0;
+            for (int i = 0; i < checks.size(); i++) {
+                try {
+                    checks.get(i).get();
+                } catch (ExecutionException e) {
+                    LOGGER.error("Failed to check hosting request {}", issueIDs.get(i), e.getCause());
+                    failures++;
+                }
+            }
+            LOGGER.info("Done checking {} open issues, {} failed", issueIDs.size(), failures);
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     public void checkRequest(int issueID) throws IOException {
+        checkRequest(issueID, () -> false);
+    }
+
+    /**
+     * Checks a hosting request and comments the result on the issue.
+     *
+     * @param superseded returns {@code true} once a newer check of the same issue has been requested, in which case
+     *     this check stops without commenting, so only the check of the latest issue body comments
+     */
+    public void checkRequest(int issueID, BooleanSupplier superseded) throws IOException {
         boolean hasBuildSystem = false;
         HashSet<VerificationMessage> hostingIssues = new HashSet<>();
 
         boolean debug = System.getProperty("debugHosting", "false").equalsIgnoreCase("true");
 
-        ArrayList<Triplet<String, Verifier, ConditionChecker>> verifications = new ArrayList<>();
-        verifications.add(Triplet.with("Request", new HostingFieldVerifier(hostingIssues), null));
-        verifications.add(Triplet.with("GitHub", new GitHubVerifier(hostingIssues), null));
-        verifications.add(
-                Triplet.with("Maven", new MavenVerifier(hostingIssues), new FileExistsConditionChecker("pom.xml")));
-        verifications.add(Triplet.with("JenkinsProjectUsers", new JenkinsProjectUserVerifier(hostingIssues), null));
-        verifications.add(Triplet.with("Jelly", new JellyVerifier(hostingIssues), null));
-        verifications.add(Triplet.with("RequiredFiles", new RequiredFilesVerifier(hostingIssues), null));
-
         final HostingRequest hostingRequest = HostingRequestParser.retrieveAndParse(issueID);
+        VerificationCache cache = VerificationCache.forRequest(GitHubClient.get(), hostingRequest);
+
+        for (Verification verification : VERIFICATIONS) {
+            if (superseded.getAsBoolean()) {
+                LOGGER.info("Check of hosting request {} was superseded by a newer one", issueID);
+                return;
+            }
+            VerificationCache.Result cached = verification.cacheInputs() == null
+                    ? null
+                    : cache.get(verification.name(), verification.cacheInputs());
+            if (cached != null) {
+                LOGGER.info("Using cached result of verification '{}'", verification.name());
+                hostingIssues.addAll(cached.messages());
+                hasBuildSystem |= cached.hasBuildFile();
+                continue;
+            }
 
-        for (Triplet<String, Verifier, ConditionChecker> verifier : verifications) {
+            HashSet<VerificationMessage> messages = new HashSet<>();
+            Verifier verifier = verification.verifier().apply(messages);
             try {
-                boolean runIt =
-                        verifier.getValue2() == null || verifier.getValue2().checkCondition(hostingRequest);
+                boolean runIt = verification.condition() == null
+                        || verification.condition().checkCondition(hostingRequest);
                 if (runIt) {
-                    LOGGER.info("Running verification '{}'", verifier.getValue0());
-                    verifier.getValue1().verify(hostingRequest);
+                    LOGGER.info("Running verification '{}'", verification.name());
+                    verifier.verify(hostingRequest);
                 }
 
-                if (verifier.getValue1() instanceof BuildSystemVerifier) {
-                    hasBuildSystem |= ((BuildSystemVerifier) verifier.getValue1()).hasBuildFile(hostingRequest);
+                boolean hasBuildFile = verifier instanceof BuildSystemVerifier buildSystemVerifier
+                        && buildSystemVerifier.hasBuildFile(hostingRequest);
+                hasBuildSystem |= hasBuildFile;
+                Map<String, String> boms =
+                        verifier instanceof MavenVerifier mavenVerifier ? mavenVerifier.getLatestBoms() : Map.of();
+                if (verification.cacheInputs() != null && boms != null) {
+                    cache.put(
+                            verification.name(),
+                            verification.cacheInputs(),
+                            new VerificationCache.Result(messages, hasBuildFile, boms));
                 }
             } catch (Exception e) {
-                LOGGER.error("Error running verification {}", verifier.getValue0(), e);
+                LOGGER.error("Error running verification {}", verification.name(), e);
+            } finally {
+                hostingIssues.addAll(messages);
             }
         }
 
@@ -68,7 +188,7 @@ public class HostingChecker {
 
         LOGGER.info("Done checking hosting for {}, found {} issues", issueID, hostingIssues.size());
 
-        StringBuilder msg = new StringBuilder("Hello from your friendly Jenkins Hosting Checker\n\n");
+        StringBuilder msg = new StringBuilder(COMMENT_HEADER);
         LOGGER.info("Checking if there were errors");
         if (!hostingIssues.isEmpty()) {
             msg.append("It appears you have some issues with your hosting request. Please see the list below and "
@@ -89,10 +209,18 @@ public class HostingChecker {
         }
 
         if (!debug) {
+            if (superseded.getAsBoolean()) {
+                LOGGER.info("Check of hosting request {} was superseded by a newer one", issueID);
+                return;
+            }
             LOGGER.info(msg.toString());
-            GitHub github = GitHub.connect();
+            GitHub github = GitHubClient.get();
             GHIssue issue = github.getRepository(HOSTING_REPO_SLUG).getIssue(issueID);
-            issue.comment(msg.toString());
+            if (msg.toString().equals(getLastCheckerComment(issue))) {
+                LOGGER.info("Result of hosting request {} is unchanged, not commenting again", issueID);
+            } else {
+                issue.comment(msg.toString());
+            }
 
             if (hostingIssues.isEmpty()) {
                 issue.addLabels("hosting-request", "bot-check-complete");
@@ -106,6 +234,50 @@ public class HostingChecker {
         }
     }
 
+    /**
+     * @param verifier creates the verifier, which reports to the given set
+     * @param condition whether the verifier applies to a request, {@code null} if it always applies
+     * @param cacheInputs what the result depends on besides the request, {@code null} if it must not be cached
+     */
+    record Verification(
+            String name,
+            Function<HashSet<VerificationMessage>, Verifier> verifier,
+            ConditionChecker condition,
+            Set<Input> cacheInputs) {}
+
+    /**
+     * Returns the body of the most recent comment posted by this checker, or {@code null} if there is none.
+     *
+     * <p>GitHub lists issue comments oldest first, so on issues with many comments, only recent comments are listed
+     * first, as the checker comments on every check.
+     */
+    private static String getLastCheckerComment(GHIssue issue) throws IOException {
+        if (issue.getCommentsCount() == 0) {
+            return null;
+        }
+        if (issue.getCommentsCount() > COMMENTS_PAGE_SIZE) {
+            for (Duration recent : RECENT_COMMENTS) {
+                String last = getLastCheckerComment(issue.queryComments()
+                        .since(Date.from(Instant.now().minus(recent)))
+                        .list());
+                if (last != null) {
+                    return last;
+                }
+            }
+        }
+        return getLastCheckerComment(issue.listComments());
+    }
+
+    private static String getLastCheckerComment(PagedIterable<GHIssueComment> comments) {
+        String last = null;
+        for (GHIssueComment comment : comments.withPageSize(COMMENTS_PAGE_SIZE)) {
+            if (comment.getBody() != null && comment.getBody().startsWith(COMMENT_HEADER)) {
+                last = comment.getBody();
+            }
+        }
+        return last;
+    }
+
     private void appendIssues(StringBuilder msg, Set<VerificationMessage> issues, int level) {
         for (VerificationMessage issue :
                 issues.stream().sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
@@ -128,7 +300,7 @@ public class HostingChecker {
 
     public static boolean fileExistsInRepo(HostingRequest issue, String fileName) throws IOException {
         boolean res = false;
-        GitHub github = GitHub.connect();
+        GitHub github = GitHubClient.get();
         String forkFrom = issue.getRepositoryUrl();
         if (StringUtils.isNotBlank(forkFrom)) {
             Matcher m = Pattern.compile("https://github\\.com/(\\S+)/(\\S+)", CASE_INSENSITIVE)
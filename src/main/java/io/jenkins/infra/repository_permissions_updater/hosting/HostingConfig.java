@@ -1,5 +1,7 @@
 package io.jenkins.infra.repository_permissions_updater.hosting;
 
+import java.nio.file.Path;
+
 public final class HostingConfig {
 
     static final String TARGET_ORG_NAME;
@@ -7,6 +9,12 @@ public final class HostingConfig {
     static final String HOSTING_REPO_SLUG;
     static final String HOSTING_REPO_NAME = "repository-permissions-updater";
 
+    /**
+     * Directory for caches that survive across hosting checks, e.g. BOM metadata downloaded from Artifactory.
+     */
+    static final Path CACHE_DIR = Path.of(System.getProperty(
+            "hostingCacheDir", Path.of(System.getProperty("java.io.tmpdir"), "rpu-hosting-cache").toString()));
+
     private HostingConfig() {}
 
     static {
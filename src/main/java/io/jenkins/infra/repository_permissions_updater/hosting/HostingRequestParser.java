@@ -25,7 +25,7 @@ public final class HostingRequestParser {
     private HostingRequestParser() {}
 
     public static HostingRequest retrieveAndParse(int id) throws IOException {
-        GitHub github = GitHub.connect();
+        GitHub github = GitHubClient.get();
         GHIssue issue = github.getRepository(HOSTING_REPO_SLUG).getIssue(id);
 
         String body = issue.getBody();
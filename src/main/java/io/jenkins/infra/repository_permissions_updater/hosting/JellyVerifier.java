@@ -51,7 +51,7 @@ public class JellyVerifier implements Verifier {
 
     @Override
     public void verify(HostingRequest issue) throws IOException {
-        GitHub github = GitHub.connect();
+        GitHub github = GitHubClient.get();
         String forkFrom = issue.getRepositoryUrl();
         if (StringUtils.isNotBlank(forkFrom)) {
             Matcher m = Pattern.compile("(?:https://github\\.com/)?(\\S+)/(\\S+)", CASE_INSENSITIVE)
@@ -5,32 +5,23 @@ import static io.jenkins.infra.repository_permissions_updater.hosting.Requiremen
 import static io.jenkins.infra.repository_permissions_updater.hosting.Requirements.PARENT_POM_WITH_JENKINS_VERSION;
 import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.io.BufferedReader;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.maven.artifact.repository.metadata.Metadata;
-import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.License;
@@ -50,7 +41,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class MavenVerifier implements BuildSystemVerifier {
-    private static final String BOM_ROOT_URL = "https://repo.jenkins-ci.org/artifactory/public/io/jenkins/tools/bom/";
     private static final int MAX_LENGTH_OF_GROUP_ID_PLUS_ARTIFACT_ID = 100;
     private static final int MAX_LENGTH_OF_ARTIFACT_ID = 37;
     private static final Logger LOGGER = LoggerFactory.getLogger(MavenVerifier.class);
@@ -67,6 +57,8 @@ public class MavenVerifier implements BuildSystemVerifier {
     public static final String DEPENDENCY_SHOULD_USE_API_PLUGIN =
             "The dependency `%s` should be replaced with a dependency to the api plugin `%s` %s";
     private final HashSet<VerificationMessage> hostingIssues;
+    private final Map<String, String> latestBoms = new TreeMap<>();
+    private boolean bomUnresolved;
 
     public MavenVerifier(HashSet<VerificationMessage> hostingIssues) {
         this.hostingIssues = hostingIssues;
@@ -74,7 +66,7 @@ public class MavenVerifier implements BuildSystemVerifier {
 
     @Override
     public void verify(HostingRequest issue) throws IOException {
-        GitHub github = GitHub.connect();
+        GitHub github = GitHubClient.get();
         String forkTo = issue.getNewRepoName();
         String forkFrom = issue.getRepositoryUrl();
 
@@ -152,6 +144,16 @@ public class MavenVerifier implements BuildSystemVerifier {
         return HostingChecker.fileExistsInRepo(issue, "pom.xml");
     }
 
+    /**
+     * Returns the latest BOM versions the verification compared the plugin with, by artifact ID.
+     *
+     * @return the versions, or {@code null} if the latest version of a BOM could not be determined, so that checks
+     *     were skipped
+     */
+    Map<String, String> getLatestBoms() {
+        return bomUnresolved ? null : Map.copyOf(latestBoms);
+    }
+
     private void checkAutomaticReleasesSettings(Model model) {
         Properties props = model.getProperties();
         requireProperty(
@@ -473,10 +475,13 @@ public class MavenVerifier implements BuildSystemVerifier {
 
             Set<String> managedDependencies;
             String bomArtifactId = "bom-" + jenkinsVersion.baseline() + ".x";
-            String latestReleasedBom = getLatestBomVersion(bomArtifactId);
+            String latestReleasedBom = BomCache.getInstance().getLatestVersion(bomArtifactId);
             if (latestReleasedBom != null) {
-                managedDependencies = getManagedDependenciesFromBom(bomArtifactId, latestReleasedBom);
+                latestBoms.put(bomArtifactId, latestReleasedBom);
+                managedDependencies = BomCache.getInstance().getManagedDependencies(bomArtifactId, latestReleasedBom);
             } else {
+                // the checks below are incomplete, so the result must not be cached
+                bomUnresolved = true;
                 managedDependencies = Collections.emptySet();
             }
             List<Dependency> pluginDependencies = model.getDependencies().stream()
@@ -600,47 +605,28 @@ public class MavenVerifier implements BuildSystemVerifier {
     }
 
     private void checkDependencies(Model model) {
-        Map<String, String> bd = getBannedDependencies();
+        BannedDependencies bd = BannedDependencies.get();
         model.getDependencies().forEach(d -> {
             String dep = d.getGroupId() + ":" + d.getArtifactId();
             String scope = d.getScope();
             if (scope == null) {
                 scope = "compile";
             }
-            if (scope.equals("compile") && bd.containsKey(dep)) {
-                String[] alt = bd.get(dep).split(";", 2);
-                String comment = "";
-                if (alt.length > 1) {
-                    comment = ". " + alt[1];
-                }
-                hostingIssues.add(new VerificationMessage(
-                        VerificationMessage.Severity.REQUIRED, DEPENDENCY_SHOULD_USE_API_PLUGIN, dep, alt[0], comment));
-            }
-        });
-    }
-
-    private Map<String, String> getBannedDependencies() {
-        Map<String, String> bannedDependencies = new HashMap<>();
-        try (InputStream is = new FileInputStream("banned-dependencies.lst");
-                BufferedReader reader =
-                        new BufferedReader(new InputStreamReader(Objects.requireNonNull(is), StandardCharsets.UTF_8))) {
-
-            String line = reader.readLine();
-            while (line != null) {
-                line = line.trim();
-                if (!line.startsWith("#") && !line.isEmpty()) {
-                    String[] parts = line.split(";", 2);
-                    if (parts.length < 2) {
-                        continue;
+            if (scope.equals("compile")) {
+                bd.find(d.getGroupId(), d.getArtifactId()).ifPresent(ban -> {
+                    String comment = "";
+                    if (ban.comment() != null) {
+                        comment = ". " + ban.comment();
                     }
-                    bannedDependencies.put(parts[0], parts[1]);
-                }
-                line = reader.readLine();
+                    hostingIssues.add(new VerificationMessage(
+                            VerificationMessage.Severity.REQUIRED,
+                            DEPENDENCY_SHOULD_USE_API_PLUGIN,
+                            dep,
+                            ban.alternative(),
+                            comment));
+                });
             }
-            return bannedDependencies;
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        });
     }
 
     private JenkinsVersion getJenkinsVersion(Model model) {
@@ -667,30 +653,7 @@ public class MavenVerifier implements BuildSystemVerifier {
 
     private record JenkinsVersion(String baseline, Version jenkinsVersion) {}
 
-    @SuppressFBWarnings("URLCONNECTION_SSRF_FD")
-    private Set<String> getManagedDependenciesFromBom(String artifactId, String bomVersion) {
-        try {
-            String pomUrl = BOM_ROOT_URL + artifactId + "/" + bomVersion + "/" + artifactId + "-" + bomVersion + ".pom";
-            Set<String> dependencies = new HashSet<>();
-            URL url = new URI(pomUrl).toURL();
-            MavenXpp3Reader reader = new MavenXpp3Reader();
-            Model model = reader.read(url.openStream());
-            DependencyManagement dependencyManagement = model.getDependencyManagement();
-            dependencyManagement.getDependencies().forEach(d -> {
-                if ("pom".equals(d.getType()) && d.getArtifactId().startsWith("bom-")) {
-                    dependencies.addAll(getManagedDependenciesFromBom(d.getArtifactId(), bomVersion));
-                } else {
-                    dependencies.add(getDependencyAsString(d, false));
-                }
-            });
-            return dependencies;
-        } catch (XmlPullParserException | URISyntaxException | IOException e) {
-            LOGGER.warn("Failed to read bom pom");
-        }
-        return Collections.emptySet();
-    }
-
-    private String getDependencyAsString(Dependency d, boolean includeVersion) {
+    static String getDependencyAsString(Dependency d, boolean includeVersion) {
         StringBuilder builder = new StringBuilder();
         builder.append(d.getGroupId()).append(":").append(d.getArtifactId());
         if (includeVersion && d.getVersion() != null) {
@@ -701,18 +664,4 @@ public class MavenVerifier implements BuildSystemVerifier {
         }
         return builder.toString();
     }
-
-    @SuppressFBWarnings("URLCONNECTION_SSRF_FD")
-    private String getLatestBomVersion(String artifactId) {
-        try {
-            String metadataUrl = BOM_ROOT_URL + artifactId + "/maven-metadata.xml";
-            URL url = new URI(metadataUrl).toURL();
-            MetadataXpp3Reader reader = new MetadataXpp3Reader();
-            Metadata metadata = reader.read(url.openStream());
-            return metadata.getVersioning().getLatest();
-        } catch (XmlPullParserException | URISyntaxException | IOException e) {
-            LOGGER.warn("Failed to read maven metadata");
-        }
-        return null;
-    }
 }
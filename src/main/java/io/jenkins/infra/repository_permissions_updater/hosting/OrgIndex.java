@@ -0,0 +1,294 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.kohsuke.github.GHException;
+import org.kohsuke.github.GHFileNotFoundException;
+import org.kohsuke.github.GHOrganization;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHTeam;
+import org.kohsuke.github.GitHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Locally persisted index of the repositories and teams of a GitHub organization.
+ *
+ * <p>The repository index includes the parent and source of forks. It is built once by listing all repositories of the
+ * organization, which costs one API call per fork, so only processes that run long enough for that to pay off build it,
+ * see {@link #enableBuilding()}. Others use it only if it was already built in {@link HostingConfig#CACHE_DIR}. After
+ * that, it is refreshed incrementally: the organization's repositories are listed newest first, and listing stops at
+ * the first repository that is already known. A full rebuild happens every {@link #FULL_REFRESH_INTERVAL} to pick up
+ * deleted, renamed, transferred and detached repositories.
+ *
+ * <p>Teams are never listed, as large organizations have thousands of them. Instead, the slug of each team looked up by
+ * name is remembered, so that it can be fetched with a single API call.
+ */
+final class OrgIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrgIndex.class);
+
+    private static final Duration REFRESH_INTERVAL =
+            Duration.ofMinutes(Integer.getInteger("orgIndexRefreshMinutes", 10));
+
+    private static final Duration FULL_REFRESH_INTERVAL =
+            Duration.ofHours(Integer.getInteger("orgIndexFullRefreshHours", 168));
+
+    private static final Gson GSON = new Gson();
+
+    /**
+     * Team names for which {@link #toSlug(String)} is known to match the slug assigned by GitHub.
+     */
+    private static final Pattern PLAIN_TEAM_NAME = Pattern.compile("[A-Za-z0-9 _-]+");
+
+    private static final Map<String, OrgIndex> INSTANCES = new ConcurrentHashMap<>();
+
+    private static volatile boolean building;
+
+    private final String organization;
+    private final Path file;
+    private State state;
+    private Map<String, List<String>> forksByParent;
+
+    private OrgIndex(String organization, Path file) {
+        this.organization = organization;
+        this.file = file;
+    }
+
+    static OrgIndex get(String organization) {
+        return INSTANCES.computeIfAbsent(
+                key(organization),
+                key -> new OrgIndex(
+                        organization, HostingConfig.CACHE_DIR.resolve("org-index").resolve(key + ".json")));
+    }
+
+    /**
+     * Allows building the repository index from scratch when there is none yet, e.g. for {@link HostingBot}.
+     */
+    static void enableBuilding() {
+        building = true;
+    }
+
+    /**
+     * Returns the full names of the repositories in this organization that are forks of the given repository,
+     * refreshing the repository index first if it is older than {@link #REFRESH_INTERVAL}.
+     *
+     * @return the forks, or {@code null} if the repository index was never built and building it is not enabled
+     */
+    synchronized List<String> findForksOf(GitHub github, String parentFullName) throws IOException {
+        loadIfNeeded();
+        if (state.lastFullRefresh == 0 && !building) {
+            return null;
+        }
+        refreshIfStale(github);
+        return forksByParent.getOrDefault(key(parentFullName), List.of());
+    }
+
+    /**
+     * Adds or updates a repository of this organization, e.g. after it was forked or renamed.
+     */
+    synchronized void recordRepository(GHRepository repository) throws IOException {
+        loadIfNeeded();
+        Repository entry = toEntry(repository);
+        state.repositories.values().removeIf(known -> known.id() == entry.id());
+        state.repositories.put(key(entry.fullName()), entry);
+        indexForks();
+        save();
+    }
+
+    /**
+     * Looks up a team of this organization by name, using the remembered slug if the team was looked up before.
+     *
+     * @return the team, or {@code null} if there is no team with that name
+     */
+    synchronized GHTeam findTeam(GHOrganization org, String name) throws IOException {
+        loadIfNeeded();
+        Team known = state.teams.get(key(name));
+        String slug = known != null ? known.slug() : toSlug(name);
+        GHTeam team = getTeamBySlug(org, slug);
+        if (team == null && known != null) {
+            state.teams.remove(key(name));
+            team = getTeamBySlug(org, toSlug(name));
+        }
+        if (team == null && !PLAIN_TEAM_NAME.matcher(name).matches()) {
+            // the slug may not be derived the way toSlug does it, search all teams
+            team = org.getTeamByName(name);
+        }
+        if (team != null && !team.getName().equalsIgnoreCase(name)) {
+            team = null;
+        }
+        if (team != null) {
+            recordTeam(team);
+        } else if (known != null) {
+            save();
+        }
+        return team;
+    }
+
+    /**
+     * Remembers the slug of a team of this organization, e.g. after it was created or renamed.
+     */
+    synchronized void recordTeam(GHTeam team) throws IOException {
+        loadIfNeeded();
+        Team entry = new Team(team.getId(), team.getName(), team.getSlug());
+        state.teams.values().removeIf(known -> known.id() == entry.id());
+        state.teams.put(key(entry.name()), entry);
+        save();
+    }
+
+    private static GHTeam getTeamBySlug(GHOrganization org, String slug) throws IOException {
+        try {
+            return org.getTeamBySlug(slug);
+        } catch (GHFileNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Derives the slug GitHub assigns to a team name, e.g. {@code foo-plugin-developers} for
+     * {@code foo-plugin Developers}.
+     */
+    static String toSlug(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]+", "-");
+    }
+
+    private void loadIfNeeded() {
+        if (state == null) {
+            state = load();
+            if (state == null) {
+                // an empty index that is rebuilt on the first repository lookup
+                state = new State();
+            }
+            indexForks();
+        }
+    }
+
+    private void refreshIfStale(GitHub github) throws IOException {
+        loadIfNeeded();
+        Instant now = Instant.now();
+        boolean full = state.lastFullRefresh == 0
+                || Instant.ofEpochMilli(state.lastFullRefresh).plus(FULL_REFRESH_INTERVAL).isBefore(now);
+        if (!full && Instant.ofEpochMilli(state.lastRefresh).plus(REFRESH_INTERVAL).isAfter(now)) {
+            return;
+        }
+
+        State refreshed = new State();
+        refreshed.teams.putAll(state.teams);
+        if (!full) {
+            refreshed.lastFullRefresh = state.lastFullRefresh;
+            refreshed.repositories.putAll(state.repositories);
+        }
+        Set<Long> knownIds =
+                refreshed.repositories.values().stream().map(Repository::id).collect(Collectors.toSet());
+        int fetched = 0;
+        try {
+            for (GHRepository repository : github.getOrganization(organization).listRepositories(100)) {
+                // Repositories are listed newest first, so the first known one ends an incremental refresh
+                if (!full && knownIds.contains(repository.getId())) {
+                    break;
+                }
+                // Listed repositories do not include the parent and source of forks
+                GHRepository detailed =
+                        repository.isFork() ? github.getRepository(repository.getFullName()) : repository;
+                refreshed.repositories.put(key(detailed.getFullName()), toEntry(detailed));
+                fetched++;
+            }
+        } catch (IOException | GHException e) {
+            if (state.lastFullRefresh == 0) {
+                throw e instanceof IOException ioException ? ioException : new IOException(e);
+            }
+            LOGGER.warn("Failed to refresh index of {}, using the previous one", organization, e);
+            return;
+        }
+        refreshed.lastRefresh = now.toEpochMilli();
+        if (full) {
+            refreshed.lastFullRefresh = now.toEpochMilli();
+        }
+        state = refreshed;
+        indexForks();
+        save();
+        LOGGER.info(
+                "{} index of {} with {} new repositories, {} repositories known",
+                full ? "Rebuilt" : "Refreshed",
+                organization,
+                fetched,
+                state.repositories.size());
+    }
+
+    private void indexForks() {
+        Map<String, List<String>> index = new HashMap<>();
+        for (Repository repository : state.repositories.values()) {
+            if (repository.parent() != null) {
+                index.computeIfAbsent(key(repository.parent()), unused -> new ArrayList<>())
+                        .add(repository.fullName());
+            }
+        }
+        forksByParent = index;
+    }
+
+    private State load() {
+        try {
+            State loaded = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8), State.class);
+            if (loaded != null && loaded.repositories != null && loaded.teams != null) {
+                return loaded;
+            }
+        } catch (NoSuchFileException e) {
+            // first use, build the index from scratch
+        } catch (IOException | JsonParseException e) {
+            LOGGER.warn("Ignoring unreadable index {}", file, e);
+        }
+        return null;
+    }
+
+    private void save() throws IOException {
+        CacheFiles.write(file, GSON.toJson(state).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Repository toEntry(GHRepository repository) throws IOException {
+        GHRepository parent = repository.isFork() ? repository.getParent() : null;
+        GHRepository source = repository.isFork() ? repository.getSource() : null;
+        return new Repository(
+                repository.getId(),
+                repository.getFullName(),
+                parent == null ? null : parent.getFullName(),
+                source == null ? null : source.getFullName());
+    }
+
+    private static String key(String fullName) {
+        return fullName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param parent full name of the repository this one was forked from, {@code null} if it is not a fork
+     * @param source full name of the root of the fork network, {@code null} if it is not a fork
+     */
+    private record Repository(long id, String fullName, String parent, String source) {}
+
+    private record Team(long id, String name, String slug) {}
+
+    /**
+     * The persisted form of the index.
+     */
+    private static final class State {
+        private long lastRefresh;
+        private long lastFullRefresh;
+        private Map<String, Repository> repositories = new HashMap<>();
+        private Map<String, Team> teams = new HashMap<>();
+    }
+}
@@ -0,0 +1,68 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Waits for GitHub to finish asynchronous operations, such as creating a fork or renaming a repository.
+ *
+ * <p>The first attempt is made immediately. After that, the delay between attempts doubles up to a maximum, until the
+ * deadline passes.
+ */
+final class ReadinessWaiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadinessWaiter.class);
+
+    static final ReadinessWaiter GITHUB = new ReadinessWaiter(
+            Duration.ofMillis(250),
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(Integer.getInteger("hostingReadinessTimeoutSeconds", 120)));
+
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final Duration timeout;
+
+    ReadinessWaiter(Duration initialDelay, Duration maxDelay, Duration timeout) {
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Calls {@code probe} until it returns a non-{@code null} value.
+     *
+     * @param description what is waited for, used in log and exception messages
+     * @throws IOException if {@code probe} throws, or if it did not return a value before the timeout
+     */
+    <T> T await(String description, Probe<T> probe) throws IOException, InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        Duration delay = initialDelay;
+        for (int attempt = 1; ; attempt++) {
+            T result = probe.attempt();
+            if (result != null) {
+                if (attempt > 1) {
+                    LOGGER.info("Done waiting for {} after {} attempts", description, attempt);
+                }
+                return result;
+            }
+            Duration remaining = Duration.between(Instant.now(), deadline);
+            if (remaining.isNegative() || remaining.isZero()) {
+                throw new IOException("Timed out after " + timeout + " waiting for " + description);
+            }
+            LOGGER.debug("Waiting {} for {}", delay, description);
+            Thread.sleep(Math.min(delay.toMillis(), remaining.toMillis()));
+            delay = delay.multipliedBy(2).compareTo(maxDelay) > 0 ? maxDelay : delay.multipliedBy(2);
+        }
+    }
+
+    @FunctionalInterface
+    interface Probe<T> {
+        /**
+         * @return the result once ready, {@code null} to try again later
+         */
+        T attempt() throws IOException;
+    }
+}
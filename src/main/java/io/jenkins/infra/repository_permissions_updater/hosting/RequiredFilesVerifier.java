@@ -3,7 +3,6 @@ package io.jenkins.infra.repository_permissions_updater.hosting;
 import static io.jenkins.infra.repository_permissions_updater.hosting.Requirements.ALLOWED_JDK_VERSIONS;
 import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyRuntimeException;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -19,9 +18,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.codehaus.groovy.ast.ClassNode;
-import org.codehaus.groovy.ast.MethodNode;
-import org.codehaus.groovy.ast.Parameter;
 import org.codehaus.groovy.ast.expr.ConstantExpression;
 import org.codehaus.groovy.ast.expr.DeclarationExpression;
 import org.codehaus.groovy.ast.expr.Expression;
@@ -34,9 +30,6 @@ import org.codehaus.groovy.ast.expr.VariableExpression;
 import org.codehaus.groovy.ast.stmt.BlockStatement;
 import org.codehaus.groovy.ast.stmt.ExpressionStatement;
 import org.codehaus.groovy.ast.stmt.Statement;
-import org.codehaus.groovy.control.CompilationUnit;
-import org.codehaus.groovy.control.CompilerConfiguration;
-import org.codehaus.groovy.control.Phases;
 import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHRepository;
@@ -53,7 +46,7 @@ public class RequiredFilesVerifier implements Verifier {
     @Override
     public void verify(HostingRequest request) throws IOException {
 
-        GitHub github = GitHub.connect();
+        GitHub github = GitHubClient.get();
         String forkFrom = request.getRepositoryUrl();
         String forkTo = request.getNewRepoName();
 
@@ -225,40 +218,15 @@ public class RequiredFilesVerifier implements Verifier {
     @SuppressWarnings("unchecked")
     public void validateJenkinsFile(GHContent file) {
         try {
-            GroovyClassLoader loader = new GroovyClassLoader();
-            CompilerConfiguration config = new CompilerConfiguration();
-            CompilationUnit unit = new CompilationUnit(config, null, loader);
-
             String script = IOUtils.toString(file.read(), StandardCharsets.UTF_8);
 
-            unit.addSource("Script.groovy", script);
-            unit.compile(Phases.SEMANTIC_ANALYSIS);
-
-            List<ClassNode> classes = unit.getAST().getClasses();
-            if (classes.isEmpty()) {
-                hostingIssues.add(
-                        new VerificationMessage(VerificationMessage.Severity.REQUIRED, "Could not parse Jenkinsfile."));
-                return;
-            }
-
-            ClassNode scriptClass =
-                    classes.stream().filter(ClassNode::isScript).findFirst().orElse(classes.getFirst());
-
-            MethodNode runMethod = scriptClass.getDeclaredMethod("run", new Parameter[0]);
-            if (runMethod == null) {
+            BlockStatement blockCode = GroovyParser.parseStatements("Jenkinsfile", script);
+            if (blockCode.isEmpty()) {
                 hostingIssues.add(
                         new VerificationMessage(VerificationMessage.Severity.REQUIRED, "Could not parse Jenkinsfile."));
                 return;
             }
 
-            Statement code = runMethod.getCode();
-            if (!(code instanceof BlockStatement blockCode)) {
-                hostingIssues.add(new VerificationMessage(
-                        VerificationMessage.Severity.REQUIRED,
-                        "The call of `buildPlugin` should be the only statement in the Jenkinsfile."));
-                return;
-            }
-
             List<Statement> statements = blockCode.getStatements().stream()
                     .filter(s -> s instanceof ExpressionStatement)
                     .filter(es -> ((ExpressionStatement) es).getExpression() instanceof MethodCallExpression)
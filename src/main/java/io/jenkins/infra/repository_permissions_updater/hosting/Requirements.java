@@ -10,4 +10,16 @@ public class Requirements {
     public static final Version PARENT_POM_WITH_JENKINS_VERSION = new Version(2);
     public static final Version LOWEST_JENKINS_VERSION = new Version(2, 541, 3);
     public static final List<Integer> ALLOWED_JDK_VERSIONS = List.of(21, 25);
+
+    /**
+     * Identifies these requirements in cached verification results. Must include every requirement above.
+     */
+    static String fingerprint() {
+        return String.join(
+                "|",
+                LOWEST_PARENT_POM_VERSION.toString(),
+                PARENT_POM_WITH_JENKINS_VERSION.toString(),
+                LOWEST_JENKINS_VERSION.toString(),
+                ALLOWED_JDK_VERSIONS.toString());
+    }
 }
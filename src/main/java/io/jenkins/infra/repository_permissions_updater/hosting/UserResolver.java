@@ -0,0 +1,152 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.kohsuke.github.GHFileNotFoundException;
+import org.kohsuke.github.GHOrganization;
+import org.kohsuke.github.GHUser;
+import org.kohsuke.github.GitHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves GitHub logins to users, and optionally their membership in an organization, with concurrent requests and a
+ * process-wide cache shared by the hosting checks and {@link Hoster}.
+ *
+ * <p>Lookups that fail for other reasons than the user not existing are not cached.
+ */
+final class UserResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserResolver.class);
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(8, runnable -> {
+        Thread thread = new Thread(runnable, "github-user-resolver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final UserResolver INSTANCE = new UserResolver();
+
+    private final Map<String, Cached<GHUser>> users = new ConcurrentHashMap<>();
+    private final Map<String, Cached<Boolean>> memberships = new ConcurrentHashMap<>();
+
+    private UserResolver() {}
+
+    static UserResolver get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Resolves the given logins without checking organization membership.
+     *
+     * @return the resolved users in the order of {@code logins}
+     */
+    Map<String, ResolvedUser> resolve(GitHub github, Collection<String> logins) {
+        return resolve(github, logins, null);
+    }
+
+    /**
+     * Resolves the given logins, checking membership in {@code org} for existing users if it is not {@code null}.
+     *
+     * @return the resolved users in the order of {@code logins}
+     */
+    Map<String, ResolvedUser> resolve(GitHub github, Collection<String> logins, GHOrganization org) {
+        Map<String, CompletableFuture<ResolvedUser>> futures = new LinkedHashMap<>();
+        for (String login : logins) {
+            String trimmed = login.trim();
+            futures.computeIfAbsent(trimmed, unused -> lookupUser(github, trimmed)
+                    .thenCompose(user -> user == null || org == null
+                            ? CompletableFuture.completedFuture(new ResolvedUser(trimmed, user, null))
+                            : lookupMembership(org, user)
+                                    .thenApply(member -> new ResolvedUser(trimmed, user, member))));
+        }
+        Map<String, ResolvedUser> result = new LinkedHashMap<>();
+        futures.forEach((login, future) -> result.put(login, future.join()));
+        return result;
+    }
+
+    private CompletableFuture<GHUser> lookupUser(GitHub github, String login) {
+        return cached(users, login.toLowerCase(Locale.ROOT), () -> {
+            try {
+                return github.getUser(login);
+            } catch (GHFileNotFoundException e) {
+                return null;
+            }
+        });
+    }
+
+    private CompletableFuture<Boolean> lookupMembership(GHOrganization org, GHUser user) {
+        String key = org.getLogin().toLowerCase(Locale.ROOT) + "/" + user.getLogin().toLowerCase(Locale.ROOT);
+        return cached(memberships, key, () -> org.hasMember(user));
+    }
+
+    private static <T> CompletableFuture<T> cached(Map<String, Cached<T>> cache, String key, Lookup<T> lookup) {
+        Cached<T> entry = cache.compute(key, (unused, existing) -> {
+            if (existing != null && existing.created().plus(TTL).isAfter(Instant.now())) {
+                return existing;
+            }
+            return new Cached<>(
+                    CompletableFuture.supplyAsync(
+                            () -> {
+                                try {
+                                    return lookup.get();
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            },
+                            EXECUTOR),
+                    Instant.now());
+        });
+        return entry.value().exceptionally(e -> {
+            LOGGER.warn("Failed to look up {} on GitHub", key, e instanceof CompletionException ? e.getCause() : e);
+            cache.remove(key, entry);
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Lookup<T> {
+        T get() throws IOException;
+    }
+
+    private record Cached<T>(CompletableFuture<T> value, Instant created) {}
+
+    /**
+     * @param user the user, {@code null} if it does not exist or could not be looked up
+     * @param member whether the user is a member of the organization, {@code null} if not checked or unknown
+     */
+    record ResolvedUser(String login, GHUser user, Boolean member) {
+
+        boolean exists() {
+            return user != null;
+        }
+
+        /**
+         * Whether this is an existing user account, rather than an organization.
+         */
+        boolean isUser() {
+            try {
+                return user != null && "user".equalsIgnoreCase(user.getType());
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        boolean isMember() {
+            return Boolean.TRUE.equals(member);
+        }
+    }
+}
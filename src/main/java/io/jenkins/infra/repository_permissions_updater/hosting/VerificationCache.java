@@ -0,0 +1,233 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import io.jenkins.infra.repository_permissions_updater.KnownUsers;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import org.kohsuke.github.GHFileNotFoundException;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the results of hosting verifications, so that checking an unchanged request again does not repeat the
+ * GitHub API calls the verifications made.
+ *
+ * <p>Results are keyed by the verification, the parsed hosting request, and the {@link Input inputs} the verification
+ * depends on. Verifications that depend on other state, like the existence of GitHub users or forks, must not be
+ * cached. Results based on the latest version of a BOM are only used while that is still the latest version. As a
+ * safety net, results expire after {@link #TTL}.
+ */
+final class VerificationCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VerificationCache.class);
+
+    /**
+     * Increment when the format of cached results, or the messages produced by verifications, change.
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    private static final Duration TTL = Duration.ofMinutes(Integer.getInteger("verificationCacheTtlMinutes", 1440));
+
+    private static final Pattern REPOSITORY_URL =
+            Pattern.compile("https://github\\.com/(\\S+)/(\\S+)", CASE_INSENSITIVE);
+
+    private static final Gson GSON = new Gson();
+
+    /**
+     * State besides the hosting request that the result of a verification may depend on.
+     */
+    enum Input {
+        /**
+         * The latest commit on the default branch of the repository to host.
+         */
+        REPOSITORY_HEAD,
+        /**
+         * The users known to Artifactory and Jira.
+         */
+        KNOWN_USERS,
+        /**
+         * {@link Requirements} and the banned dependencies file.
+         */
+        RULES
+    }
+
+    private final Path directory;
+    private final String request;
+    private final String head;
+    private final Function<String, String> latestBomVersion;
+
+    VerificationCache(Path directory, HostingRequest request, String head) {
+        this(directory, request, head, artifactId -> BomCache.getInstance().getLatestVersion(artifactId));
+    }
+
+    /**
+     * @param latestBomVersion looks up the latest version of a BOM, like {@link BomCache#getLatestVersion(String)}
+     */
+    VerificationCache(
+            Path directory, HostingRequest request, String head, Function<String, String> latestBomVersion) {
+        this.directory = directory;
+        this.request = GSON.toJson(request);
+        this.head = head;
+        this.latestBomVersion = latestBomVersion;
+    }
+
+    /**
+     * Prepares caching the verifications of the given request. This looks up the head of the repository to host,
+     * which costs up to two API calls.
+     */
+    static VerificationCache forRequest(GitHub github, HostingRequest request) {
+        return new VerificationCache(
+                HostingConfig.CACHE_DIR.resolve("verification"), request, findHead(github, request));
+    }
+
+    private static String findHead(GitHub github, HostingRequest request) {
+        if (StringUtils.isBlank(request.getRepositoryUrl())) {
+            return null;
+        }
+        Matcher m = REPOSITORY_URL.matcher(request.getRepositoryUrl());
+        if (!m.matches()) {
+            return null;
+        }
+        try {
+            GHRepository repo = github.getRepository(m.group(1) + "/" + m.group(2));
+            return repo.getFullName() + "@" + repo.getBranch(repo.getDefaultBranch()).getSHA1();
+        } catch (GHFileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to look up the head of {}, not using cached results", request.getRepositoryUrl(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the cached result, or {@code null} if there is none that is still valid
+     */
+    Result get(String verification, Set<Input> inputs) {
+        Path file = file(verification, inputs);
+        if (file == null) {
+            return null;
+        }
+        try {
+            Entry entry = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8), Entry.class);
+            if (entry != null
+                    && entry.result() != null
+                    && entry.result().messages() != null
+                    && Instant.ofEpochMilli(entry.created()).plus(TTL).isAfter(Instant.now())
+                    && isLatest(entry.result().boms())) {
+                return entry.result();
+            }
+        } catch (NoSuchFileException e) {
+            // not cached yet
+        } catch (IOException | JsonParseException e) {
+            LOGGER.warn("Ignoring unreadable cached verification result {}", file, e);
+        }
+        return null;
+    }
+
+    private boolean isLatest(Map<String, String> boms) {
+        if (boms == null) {
+            return false;
+        }
+        for (Map.Entry<String, String> bom : boms.entrySet()) {
+            if (!bom.getValue().equals(latestBomVersion.apply(bom.getKey()))) {
+                LOGGER.info("{} was released since the result was cached, not using it", bom.getKey());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void put(String verification, Set<Input> inputs, Result result) {
+        Path file = file(verification, inputs);
+        if (file == null) {
+            return;
+        }
+        try {
+            Entry entry = new Entry(Instant.now().toEpochMilli(), result);
+            CacheFiles.write(file, GSON.toJson(entry).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to cache result of verification '{}'", verification, e);
+        }
+    }
+
+    /**
+     * @return the file for the given verification, or {@code null} if its result cannot be cached currently
+     */
+    private Path file(String verification, Set<Input> inputs) {
+        if (TTL.isZero() || TTL.isNegative()) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, Integer.toString(FORMAT_VERSION));
+            update(digest, verification);
+            update(digest, request);
+            for (Input input : Input.values()) {
+                if (!inputs.contains(input)) {
+                    continue;
+                }
+                String value = valueOf(input);
+                if (value == null) {
+                    return null;
+                }
+                update(digest, input.name());
+                update(digest, value);
+            }
+            return directory.resolve(HexFormat.of().formatHex(digest.digest()) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String valueOf(Input input) {
+        return switch (input) {
+            case REPOSITORY_HEAD -> head;
+            case KNOWN_USERS -> StringUtils.defaultIfEmpty(KnownUsers.getVersion(), null);
+            case RULES -> {
+                try {
+                    yield Requirements.fingerprint() + "|" + Files.getLastModifiedTime(BannedDependencies.FILE);
+                } catch (IOException e) {
+                    yield null;
+                }
+            }
+        };
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * @param messages the messages the verification reported
+     * @param hasBuildFile whether a {@link BuildSystemVerifier} found its build file
+     * @param boms the latest versions of the BOMs the result is based on, by artifact ID
+     */
+    record Result(Set<VerificationMessage> messages, boolean hasBuildFile, Map<String, String> boms) {
+
+        Result(Set<VerificationMessage> messages, boolean hasBuildFile) {
+            this(messages, hasBuildFile, Map.of());
+        }
+    }
+
+    private record Entry(long created, Result result) {}
+}
@@ -0,0 +1,190 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static io.jenkins.infra.repository_permissions_updater.hosting.HostingConfig.HOSTING_REPO_SLUG;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receives GitHub {@code issues} and {@code issue_comment} webhooks for the hosting repository and hands them to a
+ * {@link HostingBot}, mirroring the conditions of the hosting GitHub Actions workflows.
+ *
+ * <p>The {@code X-Hub-Signature-256} header is verified before the payload is parsed. A secret is required, as the
+ * sender of a {@code /hosting host} comment is taken from the payload.
+ */
+public class WebhookHandler implements HttpHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebhookHandler.class);
+
+    private static final String HOSTING_REQUEST_LABEL = "hosting-request";
+    private static final String RECHECK_COMMAND = "/hosting re-check";
+    private static final String HOST_COMMAND = "/hosting host";
+
+    /**
+     * GitHub caps webhook payloads at 25 MB, hosting request payloads are far smaller.
+     */
+    private static final int MAX_PAYLOAD_BYTES = 5 * 1024 * 1024;
+
+    private final HostingBot bot;
+    private final byte[] secret;
+
+    /**
+     * @param secret the webhook secret
+     */
+    public WebhookHandler(HostingBot bot, String secret) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("A webhook secret is required");
+        }
+        this.bot = bot;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "Only POST is supported");
+                return;
+            }
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readNBytes(MAX_PAYLOAD_BYTES + 1);
+            }
+            if (body.length > MAX_PAYLOAD_BYTES) {
+                respond(exchange, 413, "Payload too large");
+                return;
+            }
+            String signature = exchange.getRequestHeaders().getFirst("X-Hub-Signature-256");
+            if (!isSignatureValid(signature, body)) {
+                LOGGER.warn("Rejecting webhook delivery {} with invalid signature", deliveryOf(exchange));
+                respond(exchange, 401, "Invalid signature");
+                return;
+            }
+
+            String event = exchange.getRequestHeaders().getFirst("X-GitHub-Event");
+            JsonObject payload;
+            try {
+                payload = JsonParser.parseString(new String(body, StandardCharsets.UTF_8))
+                        .getAsJsonObject();
+            } catch (JsonParseException | IllegalStateException e) {
+                respond(exchange, 400, "Malformed payload");
+                return;
+            }
+
+            Result result = dispatch(event, payload);
+            LOGGER.info("Webhook delivery {} ({}): {}", deliveryOf(exchange), event, result);
+            switch (result) {
+                case QUEUED -> respond(exchange, 202, "Queued");
+                case QUEUE_FULL -> respond(exchange, 503, "Queue is full");
+                default -> respond(exchange, 200, "Ignored");
+            }
+        }
+    }
+
+    Result dispatch(String event, JsonObject payload) {
+        if (!HOSTING_REPO_SLUG.equalsIgnoreCase(getString(payload, "repository", "full_name"))) {
+            return Result.IGNORED;
+        }
+        JsonObject issue = payload.get("issue") instanceof JsonObject object ? object : null;
+        String number = issue == null ? null : getString(issue, "number");
+        if (number == null || !number.matches("[0-9]{1,9}") || issue.has("pull_request")) {
+            return Result.IGNORED;
+        }
+        int issueID = Integer.parseInt(number);
+        String action = getString(payload, "action");
+
+        if ("issues".equals(event)) {
+            if (("opened".equals(action) || "edited".equals(action)) && hasLabel(issue, HOSTING_REQUEST_LABEL)) {
+                return bot.requestCheck(issueID) ? Result.QUEUED : Result.QUEUE_FULL;
+            }
+        } else if ("issue_comment".equals(event) && ("created".equals(action) || "edited".equals(action))) {
+            String comment = getString(payload, "comment", "body");
+            if (RECHECK_COMMAND.equals(comment)) {
+                return bot.requestCheck(issueID) ? Result.QUEUED : Result.QUEUE_FULL;
+            }
+            if (HOST_COMMAND.equals(comment)) {
+                String actor = getString(payload, "sender", "login");
+                if (actor == null) {
+                    return Result.IGNORED;
+                }
+                return bot.requestHost(issueID, actor) ? Result.QUEUED : Result.QUEUE_FULL;
+            }
+        }
+        return Result.IGNORED;
+    }
+
+    boolean isSignatureValid(String header, byte[] body) {
+        if (header == null || !header.startsWith("sha256=")) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            byte[] expected = mac.doFinal(body);
+            byte[] actual = HexFormat.of().parseHex(header.substring("sha256=".length()));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            return false;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static boolean hasLabel(JsonObject issue, String label) {
+        if (!issue.has("labels") || !issue.get("labels").isJsonArray()) {
+            return false;
+        }
+        for (JsonElement element : issue.getAsJsonArray("labels")) {
+            if (element.isJsonObject() && label.equals(getString(element.getAsJsonObject(), "name"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getString(JsonObject object, String... path) {
+        JsonElement element = object;
+        for (String name : path) {
+            if (element == null || !element.isJsonObject()) {
+                return null;
+            }
+            element = element.getAsJsonObject().get(name);
+        }
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : null;
+    }
+
+    private static String deliveryOf(HttpExchange exchange) {
+        return exchange.getRequestHeaders().getFirst("X-GitHub-Delivery");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] response = message.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    enum Result {
+        QUEUED,
+        QUEUE_FULL,
+        IGNORED
+    }
+}
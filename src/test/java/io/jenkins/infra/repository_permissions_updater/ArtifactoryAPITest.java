@@ -0,0 +1,37 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class ArtifactoryAPITest {
+
+    @Test
+    void readsNamesWithPrefix() throws IOException {
+        String response = """
+                [
+                  {"name": "generatedv2-plugin-foo", "uri": "https://repo.jenkins-ci.org/api/security/permissions/generatedv2-plugin-foo"},
+                  {"uri": "https://repo.jenkins-ci.org/api/security/permissions/unnamed", "name": "Anything"},
+                  {"description": {"name": "generatedv2-nested"}, "name": "generatedv2-cd-jenkinsci_foo-plugin"},
+                  {"name": null},
+                  "generatedv2-not-an-object",
+                  {"name": 42}
+                ]
+                """;
+        assertThat(ArtifactoryAPI.readNames(new StringReader(response), "generatedv2-"))
+                .containsExactly("generatedv2-plugin-foo", "generatedv2-cd-jenkinsci_foo-plugin");
+        assertThat(ArtifactoryAPI.readNames(new StringReader(response), "4")).containsExactly("42");
+    }
+
+    @Test
+    void failsOnUnexpectedResponse() {
+        assertThrows(
+                IOException.class,
+                () -> ArtifactoryAPI.readNames(new StringReader("[{\"name\": \"generatedv2-foo\"}, {\"na"), ""));
+        assertThrows(
+                IOException.class, () -> ArtifactoryAPI.readNames(new StringReader("{\"errors\": []}"), ""));
+    }
+}
@@ -1,19 +1,31 @@
 package io.jenkins.infra.repository_permissions_updater;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.gson.Gson;
-import edu.umd.cs.findbugs.annotations.NonNull;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class ArtifactoryPermissionUpdaterTest {
 
@@ -27,7 +39,7 @@ class ArtifactoryPermissionUpdaterTest {
         Files.copy(
                 Path.of("permissions/plugin-delphix.yml"),
                 Path.of(permissions.getAbsolutePath(), "plugin-delphix.yml"));
-        ArtifactoryPermissionsUpdater.doGenerateApiPayloads(permissions, payloads, new MockArtifactoryAPI());
+        ArtifactoryPermissionsUpdater.doGenerateApiPayloads(permissions, payloads);
     }
 
     @Test
@@ -55,38 +67,219 @@ class ArtifactoryPermissionUpdaterTest {
         assertEquals(List.of("org.jenkins-ci.plugins:delphix", "org.jenkins-ci.plugins:delphix-plugin"), keys);
     }
 
-    private static <T> T parseJson(T template, String... path) throws IOException {
-        String stream = Files.readString(Path.of(payloads.getAbsolutePath(), path));
-        return (T) new Gson().fromJson(stream, template.getClass());
+    @Test
+    void shouldValidateChangedDefinitionAgainstIndex(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("plugin-foo-fork.yml"), """
+                ---
+                name: "foo"
+                github: "jenkinsci/foo-fork-plugin"
+                paths:
+                  - "io/jenkins/plugins/foo"
+                developers: []
+                """);
+        // not in scope, so not read
+        Files.writeString(directory.resolve("plugin-broken.yml"), "name: [");
+        Definition indexed = new Definition();
+        indexed.setName("foo");
+        indexed.setGithub("jenkinsci/foo-plugin");
+        indexed.setPaths(new String[] {"io/jenkins/plugins/foo"});
+        // the index entry of the changed definition is outdated and must not be checked against
+        Definition outdated = new Definition();
+        outdated.setName("foo");
+        outdated.setGithub("jenkinsci/old-foo-plugin");
+        outdated.setPaths(new String[] {"io/jenkins/plugins/foo"});
+        File output = directory.resolve("json").toFile();
+
+        IllegalStateException e = assertThrows(
+                IllegalStateException.class,
+                () -> ArtifactoryPermissionsUpdater.doGenerateApiPayloads(
+                        directory.toFile(),
+                        output,
+                        Set.of("plugin-foo-fork.yml"),
+                        Map.of("plugin-foo.yml", indexed, "plugin-foo-fork.yml", outdated),
+                        Map.of()));
+        assertEquals(
+                "1 problems found in permission definitions:\n"
+                        + "plugin-foo-fork.yml:5: Path io/jenkins/plugins/foo of foo overlaps with foo",
+                e.getMessage());
+        Files.deleteIfExists(Path.of("checks-title.txt"));
+        Files.deleteIfExists(Path.of("checks-details.txt"));
     }
 
-    private static class MockArtifactoryAPI extends ArtifactoryAPI {
-        @Override
-        public List<String> listGeneratedPermissionTargets() {
-            return List.of();
-        }
+    @Test
+    void shouldExplainDefinitionWithTeam(@TempDir Path directory) throws IOException {
+        Path teams = Files.createDirectories(directory.resolve("teams"));
+        Files.writeString(teams.resolve("maintainers.yml"), """
+                ---
+                name: "maintainers"
+                developers:
+                  - "basil"
+                  - "timja"
+                """);
+        // not referenced, so not read
+        Files.writeString(teams.resolve("broken.yml"), "name: [");
+        Path definition = explainedDefinition(directory);
+        Path index = directory.resolve("definitions.index.json");
+        Files.writeString(index, """
+                {"plugin-bar.yml": {"name": "bar", "github": "jenkinsci/bar-plugin", "paths": ["io/jenkins/plugins/bar"]}}
+                """);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArtifactoryPermissionsUpdater.explainDefinition(
+                definition.toFile(),
+                index.toString(),
+                teams.toFile(),
+                new PrintStream(out, true, StandardCharsets.UTF_8));
 
-        @Override
-        public void createOrReplacePermissionTarget(@NonNull String name, @NonNull File payloadFile) {}
+        String explained = out.toString(StandardCharsets.UTF_8);
+        assertTrue(explained.contains("# permissions/generatedv2-plugin-foo.json\n"), explained);
+        assertTrue(explained.contains("\"basil\": ["), explained);
+        assertTrue(explained.contains("\"timja\": ["), explained);
+        assertTrue(explained.contains("# github.index.json\n"), explained);
+        assertFalse(explained.contains("@maintainers"), explained);
+    }
 
-        @Override
-        public void deletePermissionTarget(@NonNull String target) {}
+    @Test
+    void shouldExplainOverlapWithIndexedDefinition(@TempDir Path directory) throws IOException {
+        Path teams = Files.createDirectories(directory.resolve("teams"));
+        Files.writeString(teams.resolve("maintainers.yml"), """
+                ---
+                name: "maintainers"
+                developers:
+                  - "basil"
+                """);
+        Path definition = explainedDefinition(directory);
+        Path index = directory.resolve("definitions.index.json");
+        Files.writeString(index, """
+                {"plugin-foo-old.yml": {"name": "foo", "github": "jenkinsci/old-foo-plugin", "paths": ["io/jenkins/plugins/foo"]}}
+                """);
 
-        @NonNull
-        @Override
-        public List<String> listGeneratedGroups() {
-            return List.of();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IllegalStateException e = assertThrows(
+                IllegalStateException.class,
+                () -> ArtifactoryPermissionsUpdater.explainDefinition(
+                        definition.toFile(),
+                        index.toString(),
+                        teams.toFile(),
+                        new PrintStream(out, true, StandardCharsets.UTF_8)));
+        assertTrue(
+                e.getMessage().contains("plugin-foo.yml:5: Path io/jenkins/plugins/foo of foo overlaps with foo"),
+                e.getMessage());
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+        Files.deleteIfExists(Path.of("checks-title.txt"));
+        Files.deleteIfExists(Path.of("checks-details.txt"));
+    }
+
+    private static Path explainedDefinition(Path directory) throws IOException {
+        Path permissions = Files.createDirectories(directory.resolve("permissions"));
+        return Files.writeString(permissions.resolve("plugin-foo.yml"), """
+                ---
+                name: "foo"
+                github: "jenkinsci/foo-plugin"
+                paths:
+                  - "io/jenkins/plugins/foo"
+                developers:
+                  - "@maintainers"
+                """);
+    }
+
+    @Test
+    void shouldPackTargetsWithSamePrincipals() {
+        List<JsonObject> packed = ArtifactoryPermissionsUpdater.packPermissionTargets(
+                List.of(
+                        permissionTarget("generatedv2-b", "b/*/b-*,b/maven-metadata.xml", "alice", "bob"),
+                        permissionTarget("generatedv2-a", "a/*/a-*,a/maven-metadata.xml", "bob", "alice"),
+                        permissionTarget("generatedv2-c", "c/*/c-*", "alice", "bob"),
+                        permissionTarget("generatedv2-d", "d/*/d-*", "carol"),
+                        permissionTarget("generatedv2-e", "blocked", "alice", "bob")),
+                4,
+                name -> "generatedv2-" + name);
+
+        Map<String, String> patternsByName = patternsByName(packed);
+        assertEquals("d/*/d-*", patternsByName.remove("generatedv2-d"));
+        assertEquals("blocked", patternsByName.remove("generatedv2-e"));
+        assertTrue(patternsByName.keySet().stream().allMatch(name -> name.startsWith("generatedv2-packed-")));
+        assertTrue(patternsByName.values().stream().allMatch(patterns -> patterns.split(",").length <= 4));
+        assertEquals(
+                Set.of("a/*/a-*", "a/maven-metadata.xml", "b/*/b-*", "b/maven-metadata.xml", "c/*/c-*"),
+                patternsByName.values().stream()
+                        .flatMap(patterns -> Stream.of(patterns.split(",")))
+                        .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void shouldKeepOtherPackedTargetsWhenAddingDefinition() {
+        List<JsonObject> targets = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            targets.add(permissionTarget("generatedv2-plugin-" + i, "p" + i + "/*/p" + i + "-*,p" + i + "/*/*.pom"));
         }
+        Map<String, String> before =
+                patternsByName(ArtifactoryPermissionsUpdater.packPermissionTargets(targets, 20, name -> name));
+        assertTrue(before.size() > 10);
 
-        @Override
-        public void createOrReplaceGroup(String name, File payloadFile) {}
+        targets.add(permissionTarget("generatedv2-plugin-00", "new/*/new-*,new/*/*.pom"));
+        Map<String, String> after =
+                patternsByName(ArtifactoryPermissionsUpdater.packPermissionTargets(targets, 20, name -> name));
+
+        // only the target the new definition is hashed into changes, or is split in two
+        Map<String, String> changed = new HashMap<>(after);
+        changed.entrySet().removeIf(entry -> entry.getValue().equals(before.get(entry.getKey())));
+        Map<String, String> removed = new HashMap<>(before);
+        removed.entrySet().removeIf(entry -> entry.getValue().equals(after.get(entry.getKey())));
+        assertEquals(1, removed.size());
+        assertTrue(changed.size() <= 2);
+        assertTrue(changed.values().stream().anyMatch(patterns -> patterns.contains("new/*/new-*")));
+    }
+
+    private static Map<String, String> patternsByName(List<JsonObject> targets) {
+        return targets.stream()
+                .collect(Collectors.toMap(
+                        target -> target.get("name").getAsString(),
+                        target -> target.get("includesPattern").getAsString()));
+    }
+
+    @Test
+    void shouldListTeamMembersInTeamGroup() {
+        TeamDefinition first = new TeamDefinition();
+        first.setName("core");
+        first.setDevelopers(new String[] {"Bob", "alice"});
+        TeamDefinition second = new TeamDefinition();
+        second.setName("core");
+        second.setDevelopers(new String[] {"bob", "carol"});
 
-        @Override
-        public void deleteGroup(String group) {}
+        JsonObject group = ArtifactoryPermissionsUpdater.toTeamGroup("core", Set.of(first, second));
 
-        @Override
-        public String generateTokenForGroup(String username, String group, long expiresInSeconds) {
-            return "";
+        assertEquals("generatedv2-team-core", group.get("name").getAsString());
+        assertEquals(
+                List.of("alice", "bob", "carol"),
+                group.getAsJsonArray("userNames").asList().stream()
+                        .map(JsonElement::getAsString)
+                        .toList());
+    }
+
+    private static JsonObject permissionTarget(String name, String includesPattern, String... users) {
+        JsonObject target = new JsonObject();
+        target.addProperty("name", name);
+        target.addProperty("includesPattern", includesPattern);
+        JsonArray repositories = new JsonArray();
+        repositories.add("snapshots");
+        target.add("repositories", repositories);
+        JsonObject usersJson = new JsonObject();
+        for (String user : users) {
+            JsonArray rights = new JsonArray();
+            rights.add("w");
+            rights.add("n");
+            usersJson.add(user, rights);
         }
+        JsonObject principals = new JsonObject();
+        principals.add("users", usersJson);
+        principals.add("groups", new JsonObject());
+        target.add("principals", principals);
+        return target;
+    }
+
+    private static <T> T parseJson(T template, String... path) throws IOException {
+        String stream = Files.readString(Path.of(payloads.getAbsolutePath(), path));
+        return (T) new Gson().fromJson(stream, template.getClass());
     }
 }
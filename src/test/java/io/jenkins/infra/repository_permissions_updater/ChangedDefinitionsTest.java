@@ -0,0 +1,58 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChangedDefinitionsTest {
+
+    @TempDir
+    private Path repository;
+
+    @Test
+    void includesDefinitionsReferencingChangedTeams() throws IOException {
+        Path permissions = Files.createDirectories(repository.resolve("permissions"));
+        Path teams = Files.createDirectories(repository.resolve("teams"));
+        Files.writeString(permissions.resolve("plugin-a.yml"), """
+                ---
+                name: "a"
+                developers:
+                  - "@core"
+                """);
+        Files.writeString(permissions.resolve("plugin-b.yml"), """
+                ---
+                name: "b"
+                developers:
+                - '@ux'  # since 2024
+                - "alice"
+                """);
+        Files.writeString(permissions.resolve("plugin-c.yml"), """
+                ---
+                name: "c"
+                developers:
+                  - "@core-extended"
+                """);
+        Files.writeString(permissions.resolve("plugin-d.yml"), """
+                ---
+                name: "d"
+                developers:
+                  - "bob"
+                """);
+
+        assertThat(ChangedDefinitions.affectedDefinitions(
+                        List.of(
+                                teams.resolve("core.yml").toString(),
+                                teams.resolve("ux.yml").toString(),
+                                permissions.resolve("plugin-d.yml").toString(),
+                                permissions.resolve("plugin-deleted.yml").toString(),
+                                repository.resolve("README.md").toString()),
+                        permissions,
+                        teams))
+                .containsExactly("plugin-a.yml", "plugin-b.yml", "plugin-d.yml", "plugin-deleted.yml");
+    }
+}
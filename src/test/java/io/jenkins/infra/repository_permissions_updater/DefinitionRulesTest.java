@@ -0,0 +1,102 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DefinitionRulesTest {
+
+    @TempDir
+    private Path permissions;
+
+    @Test
+    void reportsAllViolationsWithLines() throws IOException {
+        Files.writeString(permissions.resolve("plugin-a.yml"), """
+                ---
+                name: "a"
+                paths:
+                  - "io/jenkins/plugins/a"
+                cd:
+                  enabled: true
+                """);
+        Files.writeString(permissions.resolve("plugin-b.yml"), """
+                ---
+                name: "b"
+                github: "someone/b-plugin"
+                paths:
+                  - "io/jenkins/plugins/b"
+                cd:
+                  enabled: true
+                """);
+        Files.writeString(permissions.resolve("plugin-c.yml"), """
+                ---
+                name: "c"
+                paths:
+                  - "io/jenkins/plugins/c"
+                issues:
+                  - jira: 12345
+                """);
+        Files.writeString(permissions.resolve("plugin-d.yml"), """
+                ---
+                name: "d"
+                paths:
+                  - "io/jenkins/plugins/d"
+                  unexpected: true
+                """);
+        Files.writeString(permissions.resolve("plugin-e.yaml"), """
+                ---
+                name: "e"
+                """);
+        Files.writeString(permissions.resolve("plugin-f.yml"), """
+                ---
+                name: "f"
+                github: "jenkinsci/f-plugin"
+                paths:
+                  - "io/jenkins/plugins/f"
+                """);
+
+        List<Path> files;
+        try (var stream = Files.list(permissions)) {
+            files = stream.toList();
+        }
+        DefinitionRules.Result result = DefinitionRules.evaluate(files, Map.of());
+
+        assertThat(result.definitions())
+                .extracting(DefinitionFile::name)
+                .containsExactly("plugin-a.yml", "plugin-b.yml", "plugin-c.yml", "plugin-f.yml");
+        assertThat(result.violations())
+                .extracting(DefinitionViolation::toString)
+                .containsExactly(
+                        "plugin-a.yml:5: CD requires a GitHub repository",
+                        "plugin-b.yml:6: CD requires a GitHub repository",
+                        "plugin-c.yml:5: Issue trackers require a GitHub repository",
+                        "plugin-d.yml:5: Failed to read plugin-d.yml",
+                        "plugin-e.yaml: Unexpected file: plugin-e.yaml");
+    }
+
+    @Test
+    void reportsLinesOfDevelopersListedThroughTeams() {
+        TeamDefinition team = new TeamDefinition();
+        team.setName("core");
+        team.setDevelopers(new String[] {"alice", "bob"});
+        DefinitionFile file = DefinitionFile.parse("plugin-a.yml", """
+                ---
+                name: "a"
+                developers:
+                  - "carol"
+                  - "@core"
+                """, Map.of("core", Set.of(team)));
+
+        assertThat(file.definition().getDevelopers()).containsExactly("alice", "bob", "carol");
+        assertThat(file.teams()).containsExactly("core");
+        assertThat(file.lineOfDeveloper("carol")).isEqualTo(4);
+        assertThat(file.lineOfDeveloper("bob")).isEqualTo(5);
+    }
+}
@@ -0,0 +1,52 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jenkins.infra.repository_permissions_updater.DeployPermissions.PermissionTarget;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class DeployPermissionsTest {
+
+    private static final PermissionTarget DELPHIX = target(
+            "generatedv2-plugin-delphix",
+            "org/jenkins-ci/plugins/delphix/*/delphix-*",
+            "org/jenkins-ci/plugins/delphix/maven-metadata.xml",
+            "org/jenkins-ci/plugins/delphix-*/*/delphix-*");
+
+    private static final PermissionTarget CORE = target(
+            "generatedv2-core", "org/jenkins-ci/main/**/jenkins-*", "org/jenkins-ci/main/?ar/*/war-*");
+
+    private final DeployPermissions permissions = DeployPermissions.of(List.of(DELPHIX, CORE));
+
+    @Test
+    void matchesWildcardsWithinSegments() {
+        assertThat(permissions.whoCanDeploy("org/jenkins-ci/plugins/delphix/1.2/delphix-1.2.hpi"))
+                .containsExactly(DELPHIX);
+        assertThat(permissions.whoCanDeploy("/org/jenkins-ci/plugins/delphix-api/1.0/delphix-api-1.0.jar"))
+                .containsExactly(DELPHIX);
+        assertThat(permissions.whoCanDeploy("org/jenkins-ci/plugins/delphix/maven-metadata.xml"))
+                .containsExactly(DELPHIX);
+        assertThat(permissions.whoCanDeploy("org/jenkins-ci/main/war/2.500/war-2.500.war")).containsExactly(CORE);
+    }
+
+    @Test
+    void rejectsOtherPaths() {
+        assertThat(permissions.whoCanDeploy("org/jenkins-ci/plugins/delphix/1.2/other-1.2.hpi")).isEmpty();
+        assertThat(permissions.whoCanDeploy("org/jenkins-ci/plugins/delphix/1.2/sub/delphix-1.2.hpi")).isEmpty();
+        assertThat(permissions.whoCanDeploy("org/jenkins-ci/plugins/foo/1.0/foo-1.0.hpi")).isEmpty();
+    }
+
+    @Test
+    void matchesAnyNumberOfSegments() {
+        assertThat(permissions.whoCanDeploy("org/jenkins-ci/main/jenkins-core.pom")).containsExactly(CORE);
+        assertThat(permissions.whoCanDeploy("org/jenkins-ci/main/jenkins-core/2.500/jenkins-core-2.500.jar"))
+                .containsExactly(CORE);
+    }
+
+    private static PermissionTarget target(String name, String... includesPatterns) {
+        return new PermissionTarget(
+                name, List.of(includesPatterns), List.of("snapshots", "releases"), Set.of("alice"), Set.of());
+    }
+}
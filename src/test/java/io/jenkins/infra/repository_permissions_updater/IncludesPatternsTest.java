@@ -0,0 +1,154 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class IncludesPatternsTest {
+
+    @Test
+    void dropsPatternsOfPathsMatchedByWildcardPaths() {
+        assertThat(IncludesPatterns.compile(
+                        new String[] {"io/jenkins/foo", "io/jenkins/*", "io/jenkins/foo"}, "foo"))
+                .containsExactly(
+                        "io/jenkins/*/*/foo-*",
+                        "io/jenkins/*/*/maven-metadata.xml",
+                        "io/jenkins/*/*/maven-metadata.xml.*",
+                        "io/jenkins/*/maven-metadata.xml",
+                        "io/jenkins/*/maven-metadata.xml.*");
+    }
+
+    @Test
+    void keepsPatternsOfDisjointPaths() {
+        String[] paths = {"org/jenkins-ci/plugins/delphix", "org/jenkins-ci/plugins/delphix-*"};
+        List<String> naive = new ArrayList<>(IncludesPatterns.forPath(paths[0], "delphix"));
+        naive.addAll(IncludesPatterns.forPath(paths[1], "delphix"));
+        assertThat(IncludesPatterns.compile(paths, "delphix")).isEqualTo(naive);
+    }
+
+    @Test
+    void comparesSegments() {
+        assertThat(IncludesPatterns.subsumes("a/*-*", "a/b-c*")).isTrue();
+        assertThat(IncludesPatterns.subsumes("a/?", "a/b")).isTrue();
+        assertThat(IncludesPatterns.subsumes("a/?", "a/?")).isTrue();
+        assertThat(IncludesPatterns.subsumes("a/b*", "a/b-**")).isTrue();
+        assertThat(IncludesPatterns.subsumes("a/b", "a/?")).isFalse();
+        assertThat(IncludesPatterns.subsumes("a/?", "a/*")).isFalse();
+        assertThat(IncludesPatterns.subsumes("a/*", "a/b/c")).isFalse();
+        assertThat(IncludesPatterns.subsumes("a/**", "a/b")).isFalse();
+    }
+
+    /**
+     * Compiles random definitions and checks that random paths are matched by the compiled patterns exactly when they
+     * are matched by the naive expansion.
+     */
+    @Test
+    void matchesSamePathsAsNaiveExpansion() {
+        Random random = new Random(20240613L);
+        for (int definition = 0; definition < 500; definition++) {
+            String artifactId = randomSegment(random, "ab-", false);
+            String[] paths = new String[1 + random.nextInt(4)];
+            for (int i = 0; i < paths.length; i++) {
+                paths[i] = randomPath(random, 1 + random.nextInt(2), "ab-", true);
+            }
+            List<String> naive = new ArrayList<>();
+            for (String path : paths) {
+                naive.addAll(IncludesPatterns.forPath(path, artifactId));
+            }
+            assertEquivalent(naive, IncludesPatterns.compile(paths, artifactId), random, "ab-.xml" + artifactId);
+        }
+    }
+
+    /**
+     * Minimizes random pattern lists, including {@code ?} wildcards, and checks that random paths are matched by the
+     * minimized list exactly when they are matched by the original list.
+     */
+    @Test
+    void minimizesToEquivalentPatterns() {
+        Random random = new Random(42L);
+        for (int list = 0; list < 2000; list++) {
+            List<String> patterns = new ArrayList<>();
+            int segments = 1 + random.nextInt(2);
+            for (int i = 0, size = 1 + random.nextInt(6); i < size; i++) {
+                patterns.add(randomPath(random, random.nextInt(5) == 0 ? 3 : segments, "ab", true));
+            }
+            List<String> minimized = IncludesPatterns.minimize(patterns);
+            assertThat(patterns).containsAll(minimized);
+            assertThat(minimized).doesNotHaveDuplicates();
+            assertEquivalent(patterns, minimized, random, "ab");
+        }
+    }
+
+    private static void assertEquivalent(List<String> expected, List<String> actual, Random random, String alphabet) {
+        Pattern expectedRegex = toRegex(expected);
+        Pattern actualRegex = toRegex(actual);
+        List<String> candidates = new ArrayList<>();
+        for (String pattern : expected) {
+            // paths close to the patterns are more interesting than random ones
+            for (int i = 0; i < 20; i++) {
+                candidates.add(instantiate(pattern, random, alphabet));
+            }
+        }
+        for (int i = 0; i < 200; i++) {
+            candidates.add(randomPath(random, 1 + random.nextInt(4), alphabet, false));
+        }
+        for (String candidate : candidates) {
+            assertThat(actualRegex.matcher(candidate).matches())
+                    .as("%s matching %s, compared to %s", actual, candidate, expected)
+                    .isEqualTo(expectedRegex.matcher(candidate).matches());
+        }
+    }
+
+    private static String instantiate(String pattern, Random random, String alphabet) {
+        StringBuilder path = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            if (c == '*') {
+                for (int i = random.nextInt(3); i > 0; i--) {
+                    path.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            } else if (c == '?' || (c != '/' && random.nextInt(10) == 0)) {
+                path.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            } else {
+                path.append(c);
+            }
+        }
+        return path.toString();
+    }
+
+    private static String randomPath(Random random, int segments, String alphabet, boolean wildcards) {
+        List<String> path = new ArrayList<>();
+        for (int i = 0; i < segments; i++) {
+            path.add(randomSegment(random, alphabet, wildcards));
+        }
+        return String.join("/", path);
+    }
+
+    private static String randomSegment(Random random, String alphabet, boolean wildcards) {
+        String characters = wildcards ? alphabet + "**?" : alphabet;
+        StringBuilder segment = new StringBuilder();
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            segment.append(characters.charAt(random.nextInt(characters.length())));
+        }
+        return segment.toString();
+    }
+
+    /**
+     * Translates Ant patterns into a regular expression independently of {@link IncludesPatterns}.
+     */
+    private static Pattern toRegex(List<String> patterns) {
+        return Pattern.compile(patterns.stream()
+                .map(pattern -> pattern.chars()
+                        .mapToObj(c -> switch (c) {
+                            case '*' -> "[^/]*";
+                            case '?' -> "[^/]";
+                            default -> Pattern.quote(Character.toString(c));
+                        })
+                        .collect(Collectors.joining()))
+                .collect(Collectors.joining("|")));
+    }
+}
@@ -0,0 +1,39 @@
+package io.jenkins.infra.repository_permissions_updater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PathOwnershipTrieTest {
+
+    @Test
+    void findsIdenticalAndWildcardPaths() {
+        PathOwnershipTrie<String> trie = new PathOwnershipTrie<>();
+        assertThat(trie.add("org/jenkins-ci/plugins/delphix", "delphix")).isEmpty();
+        assertThat(trie.add("org/jenkins-ci/plugins/delphix-*", "delphix")).isEmpty();
+        assertThat(trie.add("org/jenkins-ci/plugins/foo", "foo")).isEmpty();
+
+        assertThat(trie.add("org/jenkins-ci/plugins/delphix-foo", "other")).containsExactly("delphix");
+        assertThat(trie.add("org/jenkins-ci/plugins/f*", "another")).containsExactly("foo");
+        assertThat(trie.add("org/jenkins-ci/plugins/foo", "third")).containsExactly("foo", "another");
+    }
+
+    @Test
+    void ignoresNestedPaths() {
+        PathOwnershipTrie<String> trie = new PathOwnershipTrie<>();
+        trie.add("org/jenkins-ci", "parent");
+        assertThat(trie.add("org/jenkins-ci/plugins/foo", "foo")).isEmpty();
+        assertThat(trie.add("org", "root")).isEmpty();
+    }
+
+    @Test
+    void intersectsGlobs() {
+        assertThat(PathOwnershipTrie.globsIntersect("foo-*", "foo-bar-*")).isTrue();
+        assertThat(PathOwnershipTrie.globsIntersect("*-api", "mina-*")).isTrue();
+        assertThat(PathOwnershipTrie.globsIntersect("foo", "foo")).isTrue();
+        assertThat(PathOwnershipTrie.globsIntersect("*", "")).isTrue();
+        assertThat(PathOwnershipTrie.globsIntersect("foo-*", "foobar-*")).isFalse();
+        assertThat(PathOwnershipTrie.globsIntersect("delphix-*", "delphix")).isFalse();
+        assertThat(PathOwnershipTrie.globsIntersect("a*b", "*c")).isFalse();
+    }
+}
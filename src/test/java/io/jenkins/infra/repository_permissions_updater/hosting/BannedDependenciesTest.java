@@ -0,0 +1,76 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BannedDependenciesTest {
+
+    private static final List<String> LINES = List.of(
+            "# comment",
+            "",
+            "org.json:json;io.jenkins.plugins:json-api",
+            "com.sun.xml.bind:jaxb-impl;io.jenkins.plugins:jaxb;Use the plugin; it bundles the API",
+            "org.apache.commons:commons-*;io.jenkins.plugins:commons-lang3-api",
+            "org.bouncycastle*:*;org.jenkins-ci.plugins:bouncycastle-api",
+            "malformed-line-without-alternative");
+
+    @Test
+    void exactMatch() {
+        BannedDependencies index = BannedDependencies.parse(LINES);
+        assertThat(index.find("org.json", "json"))
+                .get()
+                .extracting(BannedDependencies.Ban::alternative)
+                .isEqualTo("io.jenkins.plugins:json-api");
+        assertThat(index.find("org.json", "json2")).isEmpty();
+    }
+
+    @Test
+    void commentMayContainSeparator() {
+        BannedDependencies index = BannedDependencies.parse(LINES);
+        assertThat(index.find("com.sun.xml.bind", "jaxb-impl"))
+                .get()
+                .extracting(BannedDependencies.Ban::comment)
+                .isEqualTo("Use the plugin; it bundles the API");
+    }
+
+    @Test
+    void prefixMatches() {
+        BannedDependencies index = BannedDependencies.parse(LINES);
+        assertThat(index.find("org.apache.commons", "commons-text")).isPresent();
+        assertThat(index.find("org.apache.commons", "text")).isEmpty();
+        assertThat(index.find("org.bouncycastle", "bcprov-jdk18on")).isPresent();
+        assertThat(index.find("org.bouncycastle.extra", "anything")).isPresent();
+        assertThat(index.find("org.bouncy", "bcprov-jdk18on")).isEmpty();
+    }
+
+    @Test
+    void reloadsOnlyWhenModified(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("banned-dependencies.lst");
+        Files.write(file, LINES);
+        BannedDependencies first = BannedDependencies.get(file);
+        assertThat(BannedDependencies.get(file)).isSameAs(first);
+
+        Files.write(file, List.of("org.json:json;io.jenkins.plugins:json-api"));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        BannedDependencies second = BannedDependencies.get(file);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.find("org.apache.commons", "commons-text")).isEmpty();
+    }
+
+    @Test
+    void missingFile(@TempDir Path dir) {
+        assertThatThrownBy(() -> BannedDependencies.get(dir.resolve("missing.lst")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing.lst")
+                .hasMessageContaining("does not exist");
+    }
+}
@@ -0,0 +1,207 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BomCacheTest {
+
+    @TempDir
+    private Path dir;
+
+    private HttpServer server;
+
+    /**
+     * Served files by path, with their ETags.
+     */
+    private final Map<String, Served> files = new ConcurrentHashMap<>();
+
+    /**
+     * The requested paths, with the status of the response.
+     */
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private record Served(String content, String etag) {}
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::serve);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            Served served = files.get(path);
+            int status;
+            if (served == null) {
+                status = 404;
+            } else if (served.etag() != null
+                    && served.etag().equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                status = 304;
+            } else {
+                status = 200;
+            }
+            requests.add(path + " " + status);
+            if (status != 200) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            if (served.etag() != null) {
+                exchange.getResponseHeaders().set("ETag", served.etag());
+            }
+            byte[] body = served.content().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private BomCache newCache() {
+        return new BomCache(dir, "http://localhost:" + server.getAddress().getPort() + "/bom/");
+    }
+
+    private static String metadata(String latest) {
+        return """
+                <metadata>
+                  <groupId>io.jenkins.tools.bom</groupId>
+                  <artifactId>bom-weekly</artifactId>
+                  <versioning>
+                    <latest>%s</latest>
+                  </versioning>
+                </metadata>
+                """.formatted(latest);
+    }
+
+    private static String pom(String artifactId, String version, String dependencies) {
+        return """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>io.jenkins.tools.bom</groupId>
+                  <artifactId>%s</artifactId>
+                  <version>%s</version>
+                  <dependencyManagement>
+                    <dependencies>
+                %s
+                    </dependencies>
+                  </dependencyManagement>
+                </project>
+                """.formatted(artifactId, version, dependencies);
+    }
+
+    private static String dependency(String artifactId, String type) {
+        return """
+                      <dependency>
+                        <groupId>org.jenkins-ci.plugins</groupId>
+                        <artifactId>%s</artifactId>
+                        <version>1.0</version>
+                        <type>%s</type>
+                      </dependency>
+                """.formatted(artifactId, type);
+    }
+
+    @Test
+    void reusesMetadataNotModified() {
+        files.put("/bom/bom-weekly/maven-metadata.xml", new Served(metadata("100.v1"), "\"a\""));
+        assertThat(newCache().getLatestVersion("bom-weekly")).isEqualTo("100.v1");
+        assertThat(dir.resolve("metadata/bom-weekly.etag")).hasContent("\"a\"");
+
+        // a new process, with the same cache directory
+        assertThat(newCache().getLatestVersion("bom-weekly")).isEqualTo("100.v1");
+        assertThat(requests)
+                .containsExactly("/bom/bom-weekly/maven-metadata.xml 200", "/bom/bom-weekly/maven-metadata.xml 304");
+    }
+
+    @Test
+    void downloadsMetadataWithChangedETag() {
+        files.put("/bom/bom-weekly/maven-metadata.xml", new Served(metadata("100.v1"), "\"a\""));
+        assertThat(newCache().getLatestVersion("bom-weekly")).isEqualTo("100.v1");
+
+        files.put("/bom/bom-weekly/maven-metadata.xml", new Served(metadata("101.v2"), "\"b\""));
+        assertThat(newCache().getLatestVersion("bom-weekly")).isEqualTo("101.v2");
+        assertThat(dir.resolve("metadata/bom-weekly.etag")).hasContent("\"b\"");
+        assertThat(requests)
+                .containsExactly("/bom/bom-weekly/maven-metadata.xml 200", "/bom/bom-weekly/maven-metadata.xml 200");
+    }
+
+    @Test
+    void downloadsAgainIfCachedMetadataIsCorrupt() throws IOException {
+        files.put("/bom/bom-weekly/maven-metadata.xml", new Served(metadata("100.v1"), "\"a\""));
+        assertThat(newCache().getLatestVersion("bom-weekly")).isEqualTo("100.v1");
+        Files.writeString(dir.resolve("metadata/bom-weekly.xml"), "<metadata><versio");
+
+        assertThat(newCache().getLatestVersion("bom-weekly")).isEqualTo("100.v1");
+        assertThat(requests)
+                .containsExactly(
+                        "/bom/bom-weekly/maven-metadata.xml 200",
+                        "/bom/bom-weekly/maven-metadata.xml 304",
+                        "/bom/bom-weekly/maven-metadata.xml 200");
+        assertThat(dir.resolve("metadata/bom-weekly.xml")).hasContent(metadata("100.v1"));
+    }
+
+    @Test
+    void cachesPomsAndManagedDependencies() throws IOException {
+        files.put(
+                "/bom/bom-weekly/100.v1/bom-weekly-100.v1.pom",
+                new Served(
+                        pom(
+                                "bom-weekly",
+                                "100.v1",
+                                dependency("git", "jar") + dependency("bom-2.440.x", "pom")),
+                        null));
+        files.put(
+                "/bom/bom-2.440.x/100.v1/bom-2.440.x-100.v1.pom",
+                new Served(pom("bom-2.440.x", "100.v1", dependency("credentials", "jar")), null));
+
+        assertThat(newCache().getManagedDependencies("bom-weekly", "100.v1"))
+                .containsExactlyInAnyOrder("org.jenkins-ci.plugins:git", "org.jenkins-ci.plugins:credentials");
+        assertThat(requests).hasSize(2);
+        assertThat(dir.resolve("managed/bom-weekly/100.v1.lst"))
+                .hasContent("org.jenkins-ci.plugins:credentials\norg.jenkins-ci.plugins:git");
+
+        // the resolved list is reused without reading the poms
+        assertThat(newCache().getManagedDependencies("bom-weekly", "100.v1"))
+                .containsExactlyInAnyOrder("org.jenkins-ci.plugins:git", "org.jenkins-ci.plugins:credentials");
+        assertThat(requests).hasSize(2);
+
+        // released poms never change, so they are not downloaded again
+        Files.delete(dir.resolve("managed/bom-weekly/100.v1.lst"));
+        assertThat(newCache().getManagedDependencies("bom-weekly", "100.v1")).hasSize(2);
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void downloadsAgainIfCachedPomIsCorrupt() throws IOException {
+        files.put(
+                "/bom/bom-weekly/100.v1/bom-weekly-100.v1.pom",
+                new Served(pom("bom-weekly", "100.v1", dependency("git", "jar")), null));
+        Path pomFile = dir.resolve("pom/bom-weekly/bom-weekly-100.v1.pom");
+        Files.createDirectories(pomFile.getParent());
+        Files.writeString(pomFile, "<project><dependencyMan");
+
+        assertThat(newCache().getManagedDependencies("bom-weekly", "100.v1"))
+                .containsExactly("org.jenkins-ci.plugins:git");
+        assertThat(requests).containsExactly("/bom/bom-weekly/100.v1/bom-weekly-100.v1.pom 200");
+        assertThat(Files.readString(pomFile)).contains("<artifactId>git</artifactId>");
+    }
+}
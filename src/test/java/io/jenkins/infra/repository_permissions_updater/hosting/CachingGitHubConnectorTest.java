@@ -0,0 +1,115 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+class CachingGitHubConnectorTest {
+
+    private final List<GitHubConnectorRequest> sent = new ArrayList<>();
+
+    @Test
+    void servesCachedBodyWhenNotModified(@TempDir Path dir) throws Exception {
+        CachingGitHubConnector connector = new CachingGitHubConnector(
+                request -> {
+                    sent.add(request);
+                    return request.header("If-None-Match") == null
+                            ? response(request, 200, Map.of("ETag", List.of("\"v1\"")), "{\"name\":\"foo\"}")
+                            : response(request, 304, Map.of("X-RateLimit-Remaining", List.of("4999")), "");
+                },
+                dir);
+
+        assertThat(body(connector.send(request("GET")))).isEqualTo("{\"name\":\"foo\"}");
+        GitHubConnectorResponse revalidated = connector.send(request("GET"));
+
+        assertThat(revalidated.statusCode()).isEqualTo(200);
+        assertThat(body(revalidated)).isEqualTo("{\"name\":\"foo\"}");
+        assertThat(revalidated.header("X-RateLimit-Remaining")).isEqualTo("4999");
+        assertThat(sent.get(1).header("If-None-Match")).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void doesNotCacheOtherMethods(@TempDir Path dir) throws Exception {
+        CachingGitHubConnector connector = new CachingGitHubConnector(
+                request -> {
+                    sent.add(request);
+                    return response(request, 200, Map.of("ETag", List.of("\"v1\"")), "{}");
+                },
+                dir);
+
+        connector.send(request("PATCH"));
+        connector.send(request("PATCH"));
+
+        assertThat(sent).allSatisfy(request -> assertThat(request.header("If-None-Match"))
+                .isNull());
+        assertThat(dir).isEmptyDirectory();
+    }
+
+    private static String body(GitHubConnectorResponse response) throws Exception {
+        try (InputStream stream = response.bodyStream()) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static GitHubConnectorResponse response(
+            GitHubConnectorRequest request, int status, Map<String, List<String>> headers, String body) {
+        return new GitHubConnectorResponse.ByteArrayResponse(request, status, headers) {
+            @Override
+            protected InputStream rawBodyStream() {
+                return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    private static GitHubConnectorRequest request(String method) throws Exception {
+        URL url = URI.create("https://api.github.com/repos/jenkinsci/foo-plugin").toURL();
+        return new GitHubConnectorRequest() {
+            @Override
+            public String method() {
+                return method;
+            }
+
+            @Override
+            public Map<String, List<String>> allHeaders() {
+                return Map.of("Authorization", List.of("token secret"));
+            }
+
+            @Override
+            public String header(String name) {
+                return name.equalsIgnoreCase("Authorization") ? "token secret" : null;
+            }
+
+            @Override
+            public String contentType() {
+                return null;
+            }
+
+            @Override
+            public InputStream body() {
+                return null;
+            }
+
+            @Override
+            public URL url() {
+                return url;
+            }
+
+            @Override
+            public boolean hasBody() {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+class FixtureGitHubConnectorTest {
+
+    @Test
+    void replaysRecordedExchanges(@TempDir Path dir) throws Exception {
+        GitHubConnector live = request -> new GitHubConnectorResponse.ByteArrayResponse(
+                request, 200, Map.of("Content-Type", List.of("application/json"))) {
+            @Override
+            protected InputStream rawBodyStream() {
+                return new ByteArrayInputStream("{\"id\":1,\"full_name\":\"jenkinsci/foo-plugin\"}"
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        GitHub recording = new GitHubBuilder()
+                .withConnector(FixtureGitHubConnector.recording(live, dir))
+                .build();
+        assertThat(recording.getRepository("jenkinsci/foo-plugin").getFullName())
+                .isEqualTo("jenkinsci/foo-plugin");
+
+        FixtureGitHubConnector replaying = FixtureGitHubConnector.replaying(dir, Duration.ZERO);
+        GitHub github = new GitHubBuilder().withConnector(replaying).build();
+        assertThat(github.getRepository("jenkinsci/foo-plugin").getFullName()).isEqualTo("jenkinsci/foo-plugin");
+        assertThat(replaying.getRequestCount()).isEqualTo(1);
+        assertThatThrownBy(() -> github.getRepository("jenkinsci/bar-plugin")).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,114 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GitHistoryScannerTest {
+
+    @Test
+    void findsFoldersRemovedFromHistory(@TempDir Path dir) throws Exception {
+        git(dir, "init", "--quiet");
+        Files.createDirectories(dir.resolve("target/classes"));
+        Files.writeString(dir.resolve("target/classes/Plugin.class"), "compiled");
+        Files.writeString(dir.resolve("pom.xml"), "<project/>");
+        git(dir, "add", "-A");
+        git(dir, "commit", "--quiet", "-m", "Initial commit");
+        git(dir, "rm", "--quiet", "-r", "target");
+        git(dir, "commit", "--quiet", "-m", "Remove target");
+
+        assertThat(GitHistoryScanner.findFolders(dir.toUri().toString(), Set.of("target", "work")))
+                .containsExactly("target");
+    }
+
+    @Test
+    void findsFoldersOfQuotedPaths(@TempDir Path dir) throws Exception {
+        git(dir, "init", "--quiet");
+        // written with fast-import, as file names that are not ASCII depend on the locale of the JVM
+        String commit = """
+                commit refs/heads/test
+                committer Test <test@example.com> 0 +0000
+                data 14
+                Initial commit
+                M 100644 inline target/classes/\u00dcbersicht.properties
+                data 8
+                compiled
+                M 100644 inline "work/say \\"hello\\".txt"
+                data 9
+                temporary
+
+                """;
+        Process process = new ProcessBuilder("git", "fast-import", "--quiet")
+                .directory(dir.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try (OutputStream in = process.getOutputStream()) {
+            in.write(commit.getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(process.waitFor()).isZero();
+        git(dir, "symbolic-ref", "HEAD", "refs/heads/test");
+
+        assertThat(GitHistoryScanner.findFolders(dir.toUri().toString(), Set.of("target", "work")))
+                .containsExactlyInAnyOrder("target", "work");
+    }
+
+    @Test
+    void replaysRecordedScans(@TempDir Path dir) throws Exception {
+        Path repo = Files.createDirectories(dir.resolve("repo"));
+        git(repo, "init", "--quiet");
+        Files.createDirectories(repo.resolve("work"));
+        Files.writeString(repo.resolve("work/config.xml"), "<hudson/>");
+        git(repo, "add", "-A");
+        git(repo, "commit", "--quiet", "-m", "Initial commit");
+        String cloneUrl = repo.toUri().toString();
+        Path fixtures = dir.resolve("fixtures");
+
+        try {
+            GitHistoryScanner.useFixtures(fixtures, false);
+            assertThat(GitHistoryScanner.findFolders(cloneUrl, Set.of("target", "work")))
+                    .containsExactly("work");
+
+            // replayed without cloning
+            FileUtils.deleteDirectory(repo.toFile());
+            GitHistoryScanner.useFixtures(fixtures, true);
+            assertThat(GitHistoryScanner.findFolders(cloneUrl, Set.of("target", "work")))
+                    .containsExactly("work");
+            assertThatThrownBy(() -> GitHistoryScanner.findFolders(
+                            dir.resolve("other").toUri().toString(), Set.of("target")))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("No recorded history scan");
+        } finally {
+            GitHistoryScanner.useFixtures(null, false);
+        }
+    }
+
+    @Test
+    void failsForMissingRepository(@TempDir Path dir) {
+        assertThatThrownBy(() -> GitHistoryScanner.findFolders(
+                        dir.resolve("missing").toUri().toString(), Set.of("target")))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static void git(Path dir, String... args) throws Exception {
+        String[] command = new String[args.length + 5];
+        command[0] = "git";
+        command[1] = "-c";
+        command[2] = "user.name=Test";
+        command[3] = "-c";
+        command[4] = "user.email=test@example.com";
+        System.arraycopy(args, 0, command, 5, args.length);
+        Process process =
+                new ProcessBuilder(command).directory(dir.toFile()).inheritIO().start();
+        assertThat(process.waitFor()).isZero();
+    }
+}
@@ -0,0 +1,55 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.codehaus.groovy.ast.stmt.BlockStatement;
+import org.codehaus.groovy.ast.stmt.ExpressionStatement;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.junit.jupiter.api.Test;
+
+class GroovyParserTest {
+
+    private static final String JENKINSFILE = """
+            /*
+             See the documentation for more options:
+             https://github.com/jenkins-infra/pipeline-library/
+            */
+            buildPlugin(
+              forkCount: '1C',
+              useContainerAgent: true,
+              configurations: [
+                [platform: 'linux', jdk: 21],
+                [platform: 'windows', jdk: 17],
+            ])
+            """;
+
+    @Test
+    void parsesStatements() throws Exception {
+        BlockStatement statements = GroovyParser.parseStatements("Jenkinsfile", JENKINSFILE);
+        assertThat(statements.getStatements()).hasSize(1);
+        ExpressionStatement statement =
+                (ExpressionStatement) statements.getStatements().getFirst();
+        assertThat(((MethodCallExpression) statement.getExpression()).getMethodAsString())
+                .isEqualTo("buildPlugin");
+    }
+
+    @Test
+    void cachesByContent() throws Exception {
+        assertThat(GroovyParser.parseStatements("Jenkinsfile", JENKINSFILE))
+                .isSameAs(GroovyParser.parseStatements("Jenkinsfile", JENKINSFILE));
+    }
+
+    @Test
+    void rejectsInvalidSyntax() {
+        assertThatThrownBy(() -> GroovyParser.parseStatements("Jenkinsfile", "buildPlugin("))
+                .isInstanceOf(CompilationFailedException.class);
+    }
+
+    @Test
+    void gradleGroupId() throws Exception {
+        assertThat(GradleVerifier.getGroupId("group = 'io.jenkins.plugins'\nversion = '1.0'\n"))
+                .isEqualTo("io.jenkins.plugins");
+    }
+}
@@ -0,0 +1,119 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class HostingBotTest {
+
+    private static final HostingBot.Host NO_HOST = (issueID, actor) -> {};
+
+    @Test
+    void coalescesChecksRequestedWithinDebounceDelay() throws InterruptedException {
+        List<Integer> checked = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        try (HostingBot bot = new HostingBot(
+                1,
+                10,
+                Duration.ofMillis(300),
+                (issueID, superseded) -> {
+                    checked.add(issueID);
+                    done.countDown();
+                },
+                NO_HOST)) {
+            assertThat(bot.requestCheck(1)).isTrue();
+            assertThat(bot.requestCheck(2)).isTrue();
+            assertThat(bot.requestCheck(1)).isTrue();
+            assertThat(bot.requestCheck(1)).isTrue();
+
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            // give a third check the time to run, if it was not coalesced
+            Thread.sleep(500);
+        }
+        assertThat(checked).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    void supersedesRunningCheck() throws InterruptedException {
+        List<Boolean> supersededWhenDone = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        try (HostingBot bot = new HostingBot(
+                1,
+                10,
+                Duration.ZERO,
+                (issueID, superseded) -> {
+                    started.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    supersededWhenDone.add(superseded.getAsBoolean());
+                    done.countDown();
+                },
+                NO_HOST)) {
+            assertThat(bot.requestCheck(1)).isTrue();
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // the issue is edited while it is checked
+            assertThat(bot.requestCheck(1)).isTrue();
+            release.countDown();
+
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(supersededWhenDone).containsExactly(true, false);
+    }
+
+    @Test
+    void dropsChecksWhenQueueIsFull() {
+        List<Integer> checked = new CopyOnWriteArrayList<>();
+        try (HostingBot bot =
+                new HostingBot(1, 2, Duration.ofMinutes(1), (issueID, superseded) -> checked.add(issueID), NO_HOST)) {
+            assertThat(bot.requestCheck(1)).isTrue();
+            assertThat(bot.requestCheck(2)).isTrue();
+            assertThat(bot.requestCheck(3)).isFalse();
+            // a pending check can still be replaced by a newer one
+            assertThat(bot.requestCheck(2)).isTrue();
+        }
+        assertThat(checked).isEmpty();
+    }
+
+    @Test
+    void dropsHostingWhenQueueIsFull() throws InterruptedException {
+        List<String> hosted = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        try (HostingBot bot = new HostingBot(1, 2, Duration.ZERO, (issueID, superseded) -> {}, (issueID, actor) -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            hosted.add(issueID + " by " + actor);
+            done.countDown();
+        })) {
+            // occupies the only worker
+            assertThat(bot.requestHost(1, "alice")).isTrue();
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(bot.requestHost(2, "alice")).isTrue();
+            // already queued, so not queued again
+            assertThat(bot.requestHost(2, "alice")).isTrue();
+            // may be allowed to host when alice is not, so queued as well
+            assertThat(bot.requestHost(2, "bob")).isTrue();
+            assertThat(bot.requestHost(3, "alice")).isFalse();
+            release.countDown();
+
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(hosted).containsExactly("1 by alice", "2 by alice", "2 by bob");
+    }
+}
@@ -0,0 +1,85 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.kohsuke.github.GitHubBuilder;
+
+/**
+ * Reports the wall time and GitHub API requests of each verification for recorded hosting requests.
+ *
+ * <p>Each subdirectory of {@code hostingBenchmarkFixtures} is named after a hosting request issue and contains the
+ * exchanges and history scans recorded while checking it, see the README. The known users are read from
+ * {@code artifactory-users.json} and {@code jira-users.json} in {@code hostingBenchmarkFixtures}, if present, instead
+ * of being downloaded.
+ */
+@EnabledIfSystemProperty(named = "hostingBenchmarkFixtures", matches = ".+")
+class HostingCheckerBenchmarkTest {
+
+    @BeforeAll
+    static void useRecordedUsers() {
+        // KnownUsers downloads the reports once, when it is first used
+        Path fixtures = Path.of(System.getProperty("hostingBenchmarkFixtures"));
+        useRecordedReport("artifactoryUserNamesJsonListUrl", fixtures.resolve("artifactory-users.json"));
+        useRecordedReport("jiraUserNamesJsonListUrl", fixtures.resolve("jira-users.json"));
+    }
+
+    private static void useRecordedReport(String property, Path report) {
+        if (System.getProperty(property) == null && Files.isRegularFile(report)) {
+            System.setProperty(property, report.toUri().toString());
+        }
+    }
+
+    @AfterEach
+    void resetClient() {
+        GitHubClient.set(null);
+        GitHistoryScanner.useFixtures(null, false);
+    }
+
+    @Test
+    void benchmark() throws Exception {
+        Duration latency = Duration.ofMillis(Integer.getInteger("hostingBenchmarkLatencyMillis", 50));
+        List<Path> fixtures;
+        try (Stream<Path> children = Files.list(Path.of(System.getProperty("hostingBenchmarkFixtures")))) {
+            fixtures = children.filter(Files::isDirectory).sorted().toList();
+        }
+
+        System.out.printf("%-8s %-20s %10s %9s %9s%n", "Issue", "Verification", "Time (ms)", "Requests", "Messages");
+        for (Path fixture : fixtures) {
+            int issueID = Integer.parseInt(fixture.getFileName().toString());
+            FixtureGitHubConnector connector = FixtureGitHubConnector.replaying(fixture, latency);
+            GitHubClient.set(new GitHubBuilder().withConnector(connector).build());
+            GitHistoryScanner.useFixtures(fixture, true);
+            HostingRequest request = HostingRequestParser.retrieveAndParse(issueID);
+
+            for (HostingChecker.Verification verification : HostingChecker.VERIFICATIONS) {
+                int requestsBefore = connector.getRequestCount();
+                long start = System.nanoTime();
+                HashSet<VerificationMessage> messages = new HashSet<>();
+                String result;
+                try {
+                    if (verification.condition() == null || verification.condition().checkCondition(request)) {
+                        verification.verifier().apply(messages).verify(request);
+                    }
+                    result = Integer.toString(messages.size());
+                } catch (Exception e) {
+                    result = "failed: " + e;
+                }
+                System.out.printf(
+                        "%-8d %-20s %10d %9d %9s%n",
+                        issueID,
+                        verification.name(),
+                        Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                        connector.getRequestCount() - requestsBefore,
+                        result);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class OrgIndexTest {
+
+    @Test
+    void teamSlugs() {
+        assertThat(OrgIndex.toSlug("foo-plugin Developers")).isEqualTo("foo-plugin-developers");
+        assertThat(OrgIndex.toSlug("foo_bar-plugin Developers")).isEqualTo("foo_bar-plugin-developers");
+        assertThat(OrgIndex.toSlug("foo.bar-plugin Developers")).isEqualTo("foo-bar-plugin-developers");
+    }
+}
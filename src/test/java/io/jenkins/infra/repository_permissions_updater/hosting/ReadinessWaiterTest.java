@@ -0,0 +1,39 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ReadinessWaiterTest {
+
+    private final ReadinessWaiter waiter =
+            new ReadinessWaiter(Duration.ofMillis(1), Duration.ofMillis(4), Duration.ofMillis(500));
+
+    @Test
+    void returnsOnceReady() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        assertThat(waiter.await("test", () -> attempts.incrementAndGet() < 4 ? null : "ready"))
+                .isEqualTo("ready");
+        assertThat(attempts).hasValue(4);
+    }
+
+    @Test
+    void timesOut() {
+        assertThatThrownBy(() -> waiter.await("something that never happens", () -> null))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("something that never happens");
+    }
+
+    @Test
+    void propagatesFailures() {
+        assertThatThrownBy(() -> waiter.await("test", () -> {
+                    throw new IOException("broken");
+                }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("broken");
+    }
+}
@@ -0,0 +1,86 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jenkins.infra.repository_permissions_updater.hosting.VerificationCache.Input;
+import io.jenkins.infra.repository_permissions_updater.hosting.VerificationCache.Result;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class VerificationCacheTest {
+
+    private static final HostingRequest REQUEST = new HostingRequest(
+            "https://github.com/example/foo-plugin", "foo-plugin", List.of("example"), List.of("example"), false);
+
+    @Test
+    void returnsStoredMessages(@TempDir Path dir) {
+        HashSet<VerificationMessage> subItems = new HashSet<>();
+        subItems.add(new VerificationMessage(VerificationMessage.Severity.INFO, "src/main/resources/index.jelly"));
+        Set<VerificationMessage> messages = Set.of(
+                new VerificationMessage(VerificationMessage.Severity.REQUIRED, "Missing file `Jenkinsfile`."),
+                new VerificationMessage(VerificationMessage.Severity.WARNING, subItems, "Jelly files are not CSP"));
+
+        new VerificationCache(dir, REQUEST, "example/foo-plugin@abc")
+                .put("Jelly", Set.of(Input.REPOSITORY_HEAD), new Result(messages, true));
+
+        Result cached = new VerificationCache(dir, REQUEST, "example/foo-plugin@abc")
+                .get("Jelly", Set.of(Input.REPOSITORY_HEAD));
+        assertThat(cached).isNotNull();
+        assertThat(cached.messages()).containsExactlyInAnyOrderElementsOf(messages);
+        assertThat(cached.hasBuildFile()).isTrue();
+    }
+
+    @Test
+    void missesWhenInputsChange(@TempDir Path dir) {
+        Result result = new Result(Set.of(), false);
+        new VerificationCache(dir, REQUEST, "example/foo-plugin@abc")
+                .put("Jelly", Set.of(Input.REPOSITORY_HEAD), result);
+
+        assertThat(new VerificationCache(dir, REQUEST, "example/foo-plugin@def")
+                        .get("Jelly", Set.of(Input.REPOSITORY_HEAD)))
+                .isNull();
+        assertThat(new VerificationCache(dir, REQUEST, "example/foo-plugin@abc").get("Request", Set.of()))
+                .isNull();
+        HostingRequest changed = new HostingRequest(
+                "https://github.com/example/foo-plugin", "bar-plugin", List.of("example"), List.of("example"), false);
+        assertThat(new VerificationCache(dir, changed, "example/foo-plugin@abc")
+                        .get("Jelly", Set.of(Input.REPOSITORY_HEAD)))
+                .isNull();
+    }
+
+    @Test
+    void doesNotCacheWithoutRepositoryHead(@TempDir Path dir) {
+        VerificationCache cache = new VerificationCache(dir, REQUEST, null);
+        cache.put("Jelly", Set.of(Input.REPOSITORY_HEAD), new Result(Set.of(), false));
+
+        assertThat(cache.get("Jelly", Set.of(Input.REPOSITORY_HEAD))).isNull();
+        assertThat(dir).isEmptyDirectory();
+    }
+
+    @Test
+    void missesWhenNewBomIsReleased(@TempDir Path dir) {
+        Map<String, String> latest = new HashMap<>(Map.of("bom-2.479.x", "100.v1"));
+        Result result = new Result(Set.of(), true, Map.of("bom-2.479.x", "100.v1"));
+        new VerificationCache(dir, REQUEST, "example/foo-plugin@abc", latest::get)
+                .put("Maven", Set.of(Input.REPOSITORY_HEAD), result);
+
+        assertThat(new VerificationCache(dir, REQUEST, "example/foo-plugin@abc", latest::get)
+                        .get("Maven", Set.of(Input.REPOSITORY_HEAD)))
+                .isNotNull();
+        latest.put("bom-2.479.x", "101.v2");
+        assertThat(new VerificationCache(dir, REQUEST, "example/foo-plugin@abc", latest::get)
+                        .get("Maven", Set.of(Input.REPOSITORY_HEAD)))
+                .isNull();
+        // also if the latest version cannot be determined
+        latest.clear();
+        assertThat(new VerificationCache(dir, REQUEST, "example/foo-plugin@abc", latest::get)
+                        .get("Maven", Set.of(Input.REPOSITORY_HEAD)))
+                .isNull();
+    }
+}
@@ -0,0 +1,118 @@
+package io.jenkins.infra.repository_permissions_updater.hosting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WebhookHandlerTest {
+
+    private static final String SECRET = "It's a Secret to Everybody";
+
+    private final HostingBot bot =
+            new HostingBot(1, 1, Duration.ZERO, (issueID, superseded) -> {}, (issueID, actor) -> {});
+
+    @AfterEach
+    void closeBot() {
+        bot.close();
+    }
+
+    @Test
+    void validSignature() {
+        WebhookHandler handler = new WebhookHandler(bot, SECRET);
+        // Example from the GitHub documentation on validating webhook deliveries
+        assertThat(handler.isSignatureValid(
+                        "sha256=757107ea0eb2509fc211221cce984b8a37570b6d7586c22c46f4379c8b043e17",
+                        "Hello, World!".getBytes(StandardCharsets.UTF_8)))
+                .isTrue();
+    }
+
+    @Test
+    void requiresSecret() {
+        assertThatThrownBy(() -> new WebhookHandler(bot, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new WebhookHandler(bot, "")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void invalidSignature() {
+        WebhookHandler handler = new WebhookHandler(bot, SECRET);
+        byte[] body = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+        assertThat(handler.isSignatureValid(null, body)).isFalse();
+        assertThat(handler.isSignatureValid("sha1=757107ea", body)).isFalse();
+        assertThat(handler.isSignatureValid("sha256=not-hex", body)).isFalse();
+        assertThat(handler.isSignatureValid(
+                        "sha256=857107ea0eb2509fc211221cce984b8a37570b6d7586c22c46f4379c8b043e17", body))
+                .isFalse();
+    }
+
+    @Test
+    void ignoresOtherRepositories() {
+        WebhookHandler handler = new WebhookHandler(bot, SECRET);
+        JsonObject payload = JsonParser.parseString(
+                        """
+                {"action": "created", "issue": {"number": 1}, "comment": {"body": "/hosting re-check"},
+                 "repository": {"full_name": "someone/else"}}
+                """)
+                .getAsJsonObject();
+        assertThat(handler.dispatch("issue_comment", payload)).isEqualTo(WebhookHandler.Result.IGNORED);
+    }
+
+    @Test
+    void ignoresUnrelatedEvents() {
+        WebhookHandler handler = new WebhookHandler(bot, SECRET);
+        String repository = HostingConfig.HOSTING_REPO_SLUG;
+        JsonObject unlabeled = JsonParser.parseString("{\"action\": \"edited\","
+                        + " \"issue\": {\"number\": 1, \"labels\": []}, \"repository\": {\"full_name\": \"" + repository + "\"}}")
+                .getAsJsonObject();
+        assertThat(handler.dispatch("issues", unlabeled)).isEqualTo(WebhookHandler.Result.IGNORED);
+
+        JsonObject otherComment = JsonParser.parseString("{\"action\": \"created\", \"issue\": {\"number\": 1},"
+                        + " \"comment\": {\"body\": \"Thanks!\"}, \"repository\": {\"full_name\": \"" + repository
+                        + "\"}}")
+                .getAsJsonObject();
+        assertThat(handler.dispatch("issue_comment", otherComment)).isEqualTo(WebhookHandler.Result.IGNORED);
+
+        JsonObject pullRequest = JsonParser.parseString("{\"action\": \"created\", \"issue\": {\"number\": 1,"
+                        + " \"pull_request\": {}}, \"comment\": {\"body\": \"/hosting re-check\"},"
+                        + " \"repository\": {\"full_name\": \"" + repository + "\"}}")
+                .getAsJsonObject();
+        assertThat(handler.dispatch("issue_comment", pullRequest)).isEqualTo(WebhookHandler.Result.IGNORED);
+    }
+
+    @Test
+    void rejectsUnsignedHostCommands() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/github-webhook", new WebhookHandler(bot, SECRET));
+        server.start();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            String payload = "{\"action\": \"created\", \"issue\": {\"number\": 1},"
+                    + " \"comment\": {\"body\": \"/hosting host\"}, \"sender\": {\"login\": \"a-hosting-member\"},"
+                    + " \"repository\": {\"full_name\": \"" + HostingConfig.HOSTING_REPO_SLUG + "\"}}";
+            HttpRequest.Builder request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + server.getAddress().getPort() + "/github-webhook"))
+                    .header("X-GitHub-Event", "issue_comment")
+                    .POST(HttpRequest.BodyPublishers.ofString(payload));
+            assertThat(client.send(request.build(), HttpResponse.BodyHandlers.discarding())
+                            .statusCode())
+                    .isEqualTo(401);
+            request.header("X-Hub-Signature-256", "sha256=" + "00".repeat(32));
+            assertThat(client.send(request.build(), HttpResponse.BodyHandlers.discarding())
+                            .statusCode())
+                    .isEqualTo(401);
+        } finally {
+            server.stop(0);
+        }
+    }
+}